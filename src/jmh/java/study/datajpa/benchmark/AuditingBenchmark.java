@@ -0,0 +1,94 @@
+package study.datajpa.benchmark;
+
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// 저장 1건당 Auditing 비용 비교
+// listenerAudited : 건마다 리스너 실행 ( 트랜잭션당 생성자/시간 캐시 )
+// bulkStamped     : 리스너를 건너뛰고 한번 구한 값을 직접 넣는다. ( saveAllBatched )
+// 둘 다 같은 JDBC 배치 크기로 한번만 flush 하고 롤백한다. 결과를 rows 로 나누면 1건당 비용
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuditingBenchmark {
+
+    @Param({"1000"})
+    int rows;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    EntityManager em;
+    TransactionTemplate transactionTemplate;
+    AuditorAware<String> auditorProvider;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        context = BenchmarkContext.start();
+        memberRepository = context.getBean(MemberRepository.class);
+        em = context.getBean(EntityManager.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        auditorProvider = context.getBean(AuditorAware.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int listenerAudited() {
+        return transactionTemplate.execute(status -> {
+            for (Member member : newMembers()) {
+                em.persist(member);
+            }
+            em.flush();
+            em.clear();
+            status.setRollbackOnly();
+            return rows;
+        });
+    }
+
+    @Benchmark
+    public int bulkStamped() {
+        return transactionTemplate.execute(status -> {
+            int saved = memberRepository.saveAllBatched(newMembers(), rows);
+            status.setRollbackOnly();
+            return saved;
+        });
+    }
+
+    // 기존 방식 : 저장마다 UUID.randomUUID() ( SecureRandom )
+    @Benchmark
+    public Optional<String> uuidPerWriteAuditor() {
+        return Optional.of(UUID.randomUUID().toString());
+    }
+
+    // 트랜잭션 밖이므로 매번 계산 ( ThreadLocalRandom ), 트랜잭션 안에서는 캐시된 값
+    @Benchmark
+    public Optional<String> cheapAuditor() {
+        return auditorProvider.getCurrentAuditor();
+    }
+
+    private List<Member> newMembers() {
+        List<Member> members = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            members.add(new Member("audit" + i, i));
+        }
+        return members;
+    }
+}
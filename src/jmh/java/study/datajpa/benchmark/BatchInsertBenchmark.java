@@ -0,0 +1,72 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberJpaRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 한 트랜잭션에서 rows 건 저장, 결과를 rows 로 나누면 1건당 비용
+// save            : 건마다 persist, 마지막에 한번 flush ( 영속성 컨텍스트가 rows 만큼 커진다. )
+// saveAllBatched  : batchSize 마다 flush(JDBC 배치) + clear
+// 둘 다 롤백해서 데이터셋 크기가 변하지 않도록 한다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchInsertBenchmark {
+
+    @Param({"10000"})
+    int rows;
+
+    ConfigurableApplicationContext context;
+    MemberJpaRepository memberJpaRepository;
+    TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        memberJpaRepository = context.getBean(MemberJpaRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int save() {
+        return transactionTemplate.execute(status -> {
+            for (Member member : newMembers("single")) {
+                memberJpaRepository.save(member);
+            }
+            memberJpaRepository.saveAllBatched(List.of(), 1); // 남아있는 엔티티 flush + clear
+            status.setRollbackOnly();
+            return rows;
+        });
+    }
+
+    @Benchmark
+    public int saveAllBatched() {
+        return transactionTemplate.execute(status -> {
+            int saved = memberJpaRepository.saveAllBatched(newMembers("batched"), 100);
+            status.setRollbackOnly();
+            return saved;
+        });
+    }
+
+    private List<Member> newMembers(String prefix) {
+        List<Member> members = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            members.add(new Member(prefix + i, i));
+        }
+        return members;
+    }
+}
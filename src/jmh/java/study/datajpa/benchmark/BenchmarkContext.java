@@ -0,0 +1,68 @@
+package study.datajpa.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.datajpa.DataJpaApplication;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 벤치마크용 스프링 컨텍스트, 외부 H2 서버 대신 임베디드(in-memory) H2를 사용한다.
+// SQL 로그, p6spy 로그, N+1 가드는 측정값에 영향을 주므로 끈다.
+public final class BenchmarkContext {
+
+    public static final int TEAM_COUNT = 10;
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext start(String... extraProperties) {
+        return start(WebApplicationType.NONE, extraProperties);
+    }
+
+    // 웹 서버까지 띄우는 경우 ( 포트는 랜덤, local.server.port 로 확인 )
+    public static ConfigurableApplicationContext startWeb(String... extraProperties) {
+        List<String> properties = new ArrayList<>(List.of(extraProperties));
+        properties.add("server.port=0");
+        return start(WebApplicationType.SERVLET, properties.toArray(String[]::new));
+    }
+
+    private static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... extraProperties) {
+        List<String> properties = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                "logging.level.org.hibernate.SQL=warn",
+                "decorator.datasource.p6spy.enable-logging=false",
+                "member.query-count-guard.mode=OFF",
+                "member.query-plan-check.enabled=false",
+                "member.seed.enabled=false")); // 데이터는 seed() 로 직접 넣는다.
+        properties.addAll(List.of(extraProperties));
+        return new SpringApplicationBuilder(DataJpaApplication.class)
+                .web(webApplicationType)
+                .properties(properties.toArray(String[]::new))
+                .run();
+    }
+
+    // member{i} ( age = i % 100, team = i % TEAM_COUNT ) 를 datasetSize 만큼 저장하고 저장된 id 목록을 반환
+    public static List<Long> seed(ConfigurableApplicationContext context, int datasetSize) {
+        TeamRepository teamRepository = context.getBean(TeamRepository.class);
+        MemberRepository memberRepository = context.getBean(MemberRepository.class);
+
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < TEAM_COUNT; i++) {
+            teams.add(new Team("team" + i));
+        }
+        teamRepository.saveAll(teams);
+
+        List<Member> members = new ArrayList<>(datasetSize);
+        for (int i = 0; i < datasetSize; i++) {
+            members.add(new Member("member" + i, i % 100, teams.get(i % TEAM_COUNT)));
+        }
+        memberRepository.saveAllBatched(members, 100);
+        return members.stream().map(Member::getId).toList();
+    }
+}
@@ -0,0 +1,73 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// p6spy 프록시 비용 ( 문장 1건당 )
+// none    : 프록시 없음 ( prod 프로필, member.sql-debug=false )
+// wrapper : 프록시만, 로그는 끔
+// logging : 프록시 + SQL/파라미터 로그 문자열 생성 ( 출력은 로그 레벨로 막아서 콘솔 비용은 제외 )
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DataSourceProxyBenchmark {
+
+    @Param({"none", "wrapper", "logging"})
+    String proxy;
+
+    @Param({"10000"})
+    int datasetSize;
+
+    ConfigurableApplicationContext context;
+    JdbcTemplate jdbcTemplate;
+    MemberRepository memberRepository;
+    List<Long> ids;
+    SplittableRandom random = new SplittableRandom(42);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "member.sql-debug=" + !proxy.equals("none"),
+                "decorator.datasource.p6spy.enable-logging=" + proxy.equals("logging"),
+                "logging.level.p6spy=off");
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        memberRepository = context.getBean(MemberRepository.class);
+        ids = BenchmarkContext.seed(context, datasetSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String jdbcSelectById() {
+        return jdbcTemplate.queryForObject("SELECT username FROM member WHERE member_id = ?", String.class, nextId());
+    }
+
+    // 2차 캐시를 거치지 않도록 JPQL 조회
+    @Benchmark
+    public List<Member> repositoryFindByNames() {
+        return memberRepository.findByNames(List.of("member" + random.nextInt(datasetSize)));
+    }
+
+    @Benchmark
+    public Optional<Member> repositoryFindById() {
+        return memberRepository.findById(nextId());
+    }
+
+    private Long nextId() {
+        return ids.get(random.nextInt(ids.size()));
+    }
+}
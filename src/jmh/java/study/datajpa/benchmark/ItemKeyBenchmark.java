@@ -0,0 +1,103 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.datajpa.entity.Item;
+import study.datajpa.entity.id.SnowflakeIds;
+import study.datajpa.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// 문자열 키(VARCHAR UUID, 기존 Item 방식) vs 시간순 64비트 키(BIGINT) INSERT/조회 비교
+// 키 타입만 비교하기 위해 같은 모양의 테이블 두개를 JDBC 로 직접 사용하고, Item 리포지토리 경로도 같이 측정한다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemKeyBenchmark {
+
+    @Param({"100000"})
+    int datasetSize;
+
+    ConfigurableApplicationContext context;
+    JdbcTemplate jdbcTemplate;
+    ItemRepository itemRepository;
+    SnowflakeIds snowflakeIds = new SnowflakeIds(1);
+    List<String> stringKeys = new ArrayList<>();
+    List<Long> longKeys = new ArrayList<>();
+    List<Long> itemIds = new ArrayList<>();
+    SplittableRandom random = new SplittableRandom(42);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        itemRepository = context.getBean(ItemRepository.class);
+
+        jdbcTemplate.execute("CREATE TABLE bench_string_key (id VARCHAR(36) PRIMARY KEY, name VARCHAR(255))");
+        jdbcTemplate.execute("CREATE TABLE bench_long_key (id BIGINT PRIMARY KEY, name VARCHAR(255))");
+        List<Object[]> stringRows = new ArrayList<>();
+        List<Object[]> longRows = new ArrayList<>();
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < datasetSize; i++) {
+            String stringKey = UUID.randomUUID().toString();
+            long longKey = snowflakeIds.next();
+            stringKeys.add(stringKey);
+            longKeys.add(longKey);
+            stringRows.add(new Object[]{stringKey, "item" + i});
+            longRows.add(new Object[]{longKey, "item" + i});
+            items.add(new Item("item" + i));
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bench_string_key (id, name) VALUES (?, ?)", stringRows);
+        jdbcTemplate.batchUpdate("INSERT INTO bench_long_key (id, name) VALUES (?, ?)", longRows);
+        itemRepository.insertAll(items, 1000);
+        items.forEach(item -> itemIds.add(item.getId()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int insertStringKey() {
+        return jdbcTemplate.update("INSERT INTO bench_string_key (id, name) VALUES (?, ?)",
+                UUID.randomUUID().toString(), "new");
+    }
+
+    @Benchmark
+    public int insertLongKey() {
+        return jdbcTemplate.update("INSERT INTO bench_long_key (id, name) VALUES (?, ?)",
+                snowflakeIds.next(), "new");
+    }
+
+    @Benchmark
+    public String lookupStringKey() {
+        return jdbcTemplate.queryForObject("SELECT name FROM bench_string_key WHERE id = ?", String.class,
+                stringKeys.get(random.nextInt(stringKeys.size())));
+    }
+
+    @Benchmark
+    public String lookupLongKey() {
+        return jdbcTemplate.queryForObject("SELECT name FROM bench_long_key WHERE id = ?", String.class,
+                longKeys.get(random.nextInt(longKeys.size())));
+    }
+
+    @Benchmark
+    public Item insertItem() {
+        return itemRepository.save(new Item("new"));
+    }
+
+    @Benchmark
+    public Optional<Item> lookupItem() {
+        return itemRepository.findById(itemIds.get(random.nextInt(itemIds.size())));
+    }
+}
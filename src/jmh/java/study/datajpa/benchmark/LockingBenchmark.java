@@ -0,0 +1,69 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.OptimisticLockRetryExecutor;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 비관적 락(SELECT FOR UPDATE) vs 낙관적 락(@Version + 재시도) 처리량 비교
+// hotRows 가 작을수록 경합이 심하다. ( 1 = 모든 스레드가 같은 회원을 수정 )
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class LockingBenchmark {
+
+    @Param({"1", "16", "1024"})
+    int hotRows;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    TransactionTemplate transactionTemplate;
+    OptimisticLockRetryExecutor retryExecutor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("member.optimistic-retry.max-attempts=1000");
+        memberRepository = context.getBean(MemberRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        retryExecutor = context.getBean(OptimisticLockRetryExecutor.class);
+        BenchmarkContext.seed(context, hotRows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Integer pessimistic() {
+        String username = randomUsername();
+        return transactionTemplate.execute(status -> {
+            Member member = memberRepository.findLockByUsername(username).get(0);
+            member.setAge(member.getAge() + 1);
+            return member.getAge();
+        });
+    }
+
+    @Benchmark
+    public Integer optimistic() {
+        String username = randomUsername();
+        return retryExecutor.execute(() -> {
+            Member member = memberRepository.findListByUsername(username).get(0);
+            member.setAge(member.getAge() + 1);
+            return member.getAge();
+        });
+    }
+
+    private String randomUsername() {
+        return "member" + ThreadLocalRandom.current().nextInt(hotRows);
+    }
+}
@@ -0,0 +1,161 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.dto.MemberDto;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.NestedClosedProjections;
+import study.datajpa.repository.UsernameOnlyDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// MemberRepository 주요 기능 벤치마크
+// 쓰기 벤치마크는 롤백해서 데이터셋 크기가 측정 도중 변하지 않도록 한다.
+// 조회 대상은 고정 seed 난수로 고르므로 실행마다 같은 순서로 조회한다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MemberRepositoryBenchmark {
+
+    @Param({"1000", "10000"})
+    int datasetSize;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    TransactionTemplate transactionTemplate;
+    List<Long> ids;
+    SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        memberRepository = context.getBean(MemberRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        ids = BenchmarkContext.seed(context, datasetSize);
+        random = new SplittableRandom(42);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Member save() {
+        return transactionTemplate.execute(status -> {
+            Member member = memberRepository.saveAndFlush(new Member("saved", 20));
+            status.setRollbackOnly();
+            return member;
+        });
+    }
+
+    @Benchmark
+    public List<Member> saveAll() {
+        return transactionTemplate.execute(status -> {
+            List<Member> members = new ArrayList<>(100);
+            for (int i = 0; i < 100; i++) {
+                members.add(new Member("saved" + i, i));
+            }
+            List<Member> saved = memberRepository.saveAll(members);
+            memberRepository.flush();
+            status.setRollbackOnly();
+            return saved;
+        });
+    }
+
+    @Benchmark
+    public Optional<Member> findById() {
+        return memberRepository.findById(randomId());
+    }
+
+    @Benchmark
+    public List<Member> derivedQuery() {
+        return memberRepository.findByUsernameAndAgeGreaterThan(randomUsername(), -1);
+    }
+
+    @Benchmark
+    public List<Member> namedQuery() {
+        return memberRepository.findByUsername(randomUsername());
+    }
+
+    @Benchmark
+    public List<Member> queryAnnotation() {
+        int i = random.nextInt(datasetSize);
+        return memberRepository.findUser("member" + i, i % 100);
+    }
+
+    @Benchmark
+    public List<Member> inClause() {
+        return memberRepository.findByNames(List.of(randomUsername(), randomUsername(), randomUsername()));
+    }
+
+    @Benchmark
+    public List<MemberDto> dtoQuery() {
+        return memberRepository.findMemberDto();
+    }
+
+    @Benchmark
+    public Page<Member> paging() {
+        int pages = Math.max(1, datasetSize / 20);
+        return memberRepository.findByAge(10, PageRequest.of(random.nextInt(pages), 20, Sort.by("username")));
+    }
+
+    @Benchmark
+    public Integer bulkAgePlus() {
+        return transactionTemplate.execute(status -> {
+            int updated = memberRepository.bulkAgePlus(50);
+            status.setRollbackOnly();
+            return updated;
+        });
+    }
+
+    @Benchmark
+    public List<UsernameOnlyDto> classProjection() {
+        return memberRepository.findProjectionByUsername(randomUsername(), UsernameOnlyDto.class);
+    }
+
+    @Benchmark
+    public List<String> nestedProjection() {
+        // 중첩 프로젝션은 트랜잭션 안에서 team 까지 읽어야 의미가 있다.
+        return transactionTemplate.execute(status ->
+                memberRepository.findProjectionByUsername(randomUsername(), NestedClosedProjections.class).stream()
+                        .map(p -> p.getTeam().getName())
+                        .toList());
+    }
+
+    @Benchmark
+    public List<String> fetchJoin() {
+        return transactionTemplate.execute(status ->
+                memberRepository.findMemberFetchJoin().stream()
+                        .map(m -> m.getTeam().getName())
+                        .toList());
+    }
+
+    @Benchmark
+    public List<String> entityGraph() {
+        return transactionTemplate.execute(status ->
+                memberRepository.findAll().stream()
+                        .map(m -> m.getTeam().getName())
+                        .toList());
+    }
+
+    private Long randomId() {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private String randomUsername() {
+        return "member" + random.nextInt(datasetSize);
+    }
+}
@@ -0,0 +1,77 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.datajpa.entity.Member;
+import study.datajpa.outbox.OutboxRelay;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 아웃박스 처리량 ( 초당 이벤트 수 )
+// writeWithOutbox : 회원 저장 + 같은 트랜잭션에서 아웃박스 INSERT
+// relay           : 쌓여있는 이벤트를 배치로 읽어 발행(메모리)하고 삭제
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OutboxBenchmark {
+
+    static final int EVENTS = 1000;
+
+    @Param({"100", "500"})
+    int relayBatchSize;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    OutboxRelay outboxRelay;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "member.outbox.relay.enabled=true",
+                "member.outbox.in-memory.enabled=true",
+                "member.outbox.relay.batch-size=" + relayBatchSize,
+                "member.outbox.relay.poll-interval-millis=3600000"); // 백그라운드 발행은 끄고 relay() 에서만
+        memberRepository = context.getBean(MemberRepository.class);
+        outboxRelay = context.getBean(OutboxRelay.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public int writeWithOutbox() {
+        return memberRepository.saveAllBatched(newMembers(), 100);
+    }
+
+    @State(Scope.Thread)
+    public static class PendingEvents {
+        @Setup(Level.Invocation)
+        public void fill(OutboxBenchmark benchmark) {
+            benchmark.outboxRelay.drain();
+            benchmark.memberRepository.saveAllBatched(benchmark.newMembers(), 100);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public long relay(PendingEvents pendingEvents) {
+        return outboxRelay.drain();
+    }
+
+    List<Member> newMembers() {
+        List<Member> members = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            members.add(new Member("outbox" + i, i % 100));
+        }
+        return members;
+    }
+}
@@ -0,0 +1,52 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 2차 캐시 on/off 에 따른 동시 findById 비용
+// secondLevelCache = false : 매번 DB 조회 ( cold )
+// secondLevelCache = true  : 첫 반복(warmup)에서 캐시에 올라간 뒤 조회 ( warm )
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class SecondLevelCacheBenchmark {
+
+    @Param({"false", "true"})
+    boolean secondLevelCache;
+
+    @Param({"500"})
+    int datasetSize;
+
+    ConfigurableApplicationContext context;
+    MemberRepository memberRepository;
+    List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache);
+        memberRepository = context.getBean(MemberRepository.class);
+        ids = BenchmarkContext.seed(context, datasetSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Member> findById() {
+        return memberRepository.findById(ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+    }
+}
@@ -0,0 +1,40 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+// 기본 설정 vs fast-startup 프로필의 첫 요청까지 걸리는 시간 ( 컨텍스트 기동 + 샘플 데이터 + 첫 /members 응답 )
+// 기동은 한번만 의미가 있으므로 SingleShotTime, 매 측정마다 컨텍스트를 새로 띄운다.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(3)
+public class StartupBenchmark {
+
+    @Param({"default", "fast-startup"})
+    String profile;
+
+    ConfigurableApplicationContext context;
+    HttpClient client = HttpClient.newHttpClient();
+
+    @Benchmark
+    public int timeToFirstRequest() throws Exception {
+        context = BenchmarkContext.startWeb("spring.profiles.active=" + profile, "member.seed.enabled=true");
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/members?page=1&size=5")).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        context.close();
+    }
+}
@@ -0,0 +1,66 @@
+package study.datajpa.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 플랫폼 스레드(톰캣 기본) vs 가상 스레드 + DB 동시성 제한 모드의 처리량/p99 비교
+// SampleTime 결과의 p0.99 를 비교하면 된다. ( Java 21 미만에서는 virtual 모드도 플랫폼 스레드로 동작 )
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(64)
+@Fork(1)
+public class WebLoadBenchmark {
+
+    @Param({"platform", "virtual"})
+    String mode;
+
+    @Param({"10000"})
+    int datasetSize;
+
+    ConfigurableApplicationContext context;
+    HttpClient client;
+    String baseUrl;
+    List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.startWeb("member.web.virtual-threads=" + mode.equals("virtual"));
+        ids = BenchmarkContext.seed(context, datasetSize);
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int members() throws Exception {
+        int page = ThreadLocalRandom.current().nextInt(1, datasetSize / 20);
+        return get("/members?page=" + page + "&size=20");
+    }
+
+    @Benchmark
+    public int memberById() throws Exception {
+        Long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        return get("/members/" + id);
+    }
+
+    private int get(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
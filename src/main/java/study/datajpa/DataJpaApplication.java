@@ -2,25 +2,29 @@ package study.datajpa;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.Bean;
-import org.springframework.data.domain.AuditorAware;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.env.Profiles;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.env.StandardEnvironment;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
-import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
-import java.util.Optional;
-import java.util.UUID;
-
-@EnableJpaAuditing // Auditing에 필수!!
+@EnableJpaAuditing(dateTimeProviderRef = "auditingDateTimeProvider") // Auditing에 필수!! ( 생성자/시간은 AuditingConfig )
 @SpringBootApplication
 public class DataJpaApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(DataJpaApplication.class, args);
+		SpringApplication application = new SpringApplication(DataJpaApplication.class);
+		if (fastStartup(args)) {
+			application.setApplicationStartup(new BufferingApplicationStartup(4096)); // 기동 단계 기록 ( /actuator/startup )
+		}
+		application.run(args);
 	}
 
-	@Bean // 생성자 수정자.
-	public AuditorAware<String> auditorProvider(){
-		return ()-> Optional.of(UUID.randomUUID().toString()); // 랜덤으로 생성해서 반환하기, 실제로는 세션에서 가져와 사용하면 된다.
+	// 컨텍스트 생성 전이라 인자/시스템 프로퍼티/환경변수( SPRING_PROFILES_ACTIVE )에서 직접 프로필을 확인한다.
+	private static boolean fastStartup(String[] args) {
+		StandardEnvironment environment = new StandardEnvironment();
+		environment.getPropertySources().addFirst(new SimpleCommandLinePropertySource(args));
+		return environment.acceptsProfiles(Profiles.of("fast-startup"));
 	}
 
 }
@@ -0,0 +1,89 @@
+package study.datajpa.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+import study.datajpa.dto.CacheRegionStatsDto;
+import study.datajpa.dto.QueryCacheStatsDto;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// 2차 캐시 리전별 통계
+// hit/miss/put 은 하이버네이트 통계, eviction 은 하이버네이트가 모르므로 JCache(ehcache) JMX 통계에서 가져온다.
+@Component
+public class SecondLevelCacheStats {
+
+    private final Statistics statistics;
+
+    public SecondLevelCacheStats(EntityManagerFactory emf) {
+        this.statistics = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public List<CacheRegionStatsDto> regions() {
+        List<CacheRegionStatsDto> result = new ArrayList<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+            if (stats == null) {
+                continue;
+            }
+            result.add(new CacheRegionStatsDto(region,
+                    stats.getHitCount(),
+                    stats.getMissCount(),
+                    stats.getPutCount(),
+                    evictionCount(region),
+                    stats.getElementCountInMemory()));
+        }
+        return result;
+    }
+
+    // 쿼리 캐시 전체 hit ratio
+    public QueryCacheStatsDto queryCache() {
+        return new QueryCacheStatsDto("*",
+                statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(),
+                statistics.getQueryCachePutCount());
+    }
+
+    // 쿼리(JPQL)별 hit ratio, 캐시 대상이 아닌 쿼리는 hit/miss 가 0 이므로 제외
+    public List<QueryCacheStatsDto> queries() {
+        List<QueryCacheStatsDto> result = new ArrayList<>();
+        for (String query : statistics.getQueries()) {
+            QueryStatistics stats = statistics.getQueryStatistics(query);
+            if (stats.getCacheHitCount() + stats.getCacheMissCount() == 0) {
+                continue;
+            }
+            result.add(new QueryCacheStatsDto(query,
+                    stats.getCacheHitCount(),
+                    stats.getCacheMissCount(),
+                    stats.getCachePutCount()));
+        }
+        return result;
+    }
+
+    public void clear() {
+        statistics.clear();
+    }
+
+    private long evictionCount(String region) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            Set<ObjectName> names = server.queryNames(
+                    new ObjectName("javax.cache:type=CacheStatistics,Cache=" + region + ",*"), null);
+            long evictions = 0;
+            for (ObjectName name : names) {
+                evictions += (Long) server.getAttribute(name, "CacheEvictions");
+            }
+            return evictions;
+        } catch (Exception e) { // JMX 통계가 꺼져 있는 경우
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package study.datajpa.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@EnableAsync
+@Configuration
+public class AsyncConfig {
+
+    // 스프링 부트 기본 실행기 ( MVC 비동기 요청, 이름 없는 @Async, 리포지토리 지연 초기화시 엔티티매니저팩토리 생성 )
+    // Executor 빈(repositoryExecutor)을 등록하면 부트가 이 빈을 만들지 않아서
+    // MVC 비동기 요청이 요청마다 스레드를 새로 만드는 SimpleAsyncTaskExecutor 로 처리되므로 직접 등록한다.
+    // 크기는 spring.task.execution.pool.* , 큐가 가득 차면 호출한 스레드에서 실행한다.
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public ThreadPoolTaskExecutor applicationTaskExecutor(TaskExecutorBuilder taskExecutorBuilder) {
+        ThreadPoolTaskExecutor executor = taskExecutorBuilder.build();
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    // 비동기 리포지토리 조회 전용 스레드 풀
+    // 스레드가 커넥션 풀보다 많아봐야 커넥션 대기만 늘어나므로 커넥션 풀 크기로 제한한다.
+    // 큐가 가득 차면 호출한 스레드에서 실행한다. ( 무한정 쌓이지 않도록 )
+    @Bean(name = "repositoryExecutor")
+    public ThreadPoolTaskExecutor repositoryExecutor(
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${member.async.queue-capacity:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("repository-async-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+}
@@ -0,0 +1,36 @@
+package study.datajpa.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.data.domain.AuditorAware;
+
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAccessor;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 저장할때마다 생성자/시간을 새로 만들지 않고 트랜잭션당 한번만 계산한다.
+// 같은 트랜잭션에서 저장/수정된 엔티티는 같은 생성자, 같은 시간(트랜잭션 시간)을 가진다.
+@Configuration
+public class AuditingConfig {
+
+    @Bean // 생성자 수정자.
+    public AuditorAware<String> auditorProvider() {
+        // 랜덤으로 생성해서 반환하기, 실제로는 세션에서 가져와 사용하면 된다.
+        // UUID.randomUUID()는 SecureRandom 을 사용하므로 ThreadLocalRandom 으로 만든다.
+        TransactionScopedValue<Optional<String>> auditor = new TransactionScopedValue<>(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            return Optional.of(new UUID(random.nextLong(), random.nextLong()).toString());
+        });
+        return auditor::get;
+    }
+
+    @Bean
+    public DateTimeProvider auditingDateTimeProvider() {
+        TransactionScopedValue<Optional<TemporalAccessor>> now = new TransactionScopedValue<>(
+                () -> Optional.of(LocalDateTime.now()));
+        return now::get;
+    }
+}
@@ -0,0 +1,45 @@
+package study.datajpa.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 기동 단계별 시간 ( JVM 시작 기준 ms ), 준비 완료 시점에 한줄로 로그를 남긴다.
+// 빈 하나하나의 시간은 /actuator/startup ( fast-startup 프로필 ) 참고
+@Slf4j
+@Component
+public class BootPhaseTimings implements ApplicationListener<ApplicationEvent> {
+
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+
+    @Override
+    public void onApplicationEvent(ApplicationEvent event) {
+        if (event instanceof ContextRefreshedEvent) {
+            record("contextRefreshed");
+        } else if (event instanceof WebServerInitializedEvent) {
+            record("webServerStarted");
+        } else if (event instanceof ApplicationStartedEvent) {
+            record("started"); // 이후 ApplicationRunner 실행 ( MemberSeeder, QueryPlanChecker )
+        } else if (event instanceof ApplicationReadyEvent) {
+            record("ready");
+            log.info("boot phases (ms since JVM start) : {}", phases);
+        }
+    }
+
+    public synchronized Map<String, Long> phases() {
+        return new LinkedHashMap<>(phases);
+    }
+
+    private synchronized void record(String phase) {
+        phases.putIfAbsent(phase, ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+}
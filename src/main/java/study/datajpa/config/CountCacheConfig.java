@@ -0,0 +1,46 @@
+package study.datajpa.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.TeamStatsMaintainer;
+import study.datajpa.repository.TotalCountCache;
+
+// @Modifying 쿼리(JPQL/네이티브 벌크 수정)는 엔티티 이벤트가 없으므로
+// Member 리포지토리의 @Modifying 메소드가 실행되면 ( 트랜잭션 인터셉터 안쪽 )
+// 같은 트랜잭션에서 team_stats 를 다시 계산하고, 커밋 후 토탈 카운트 캐시를 비운다.
+@Configuration
+public class CountCacheConfig {
+
+    @Bean
+    public static BeanPostProcessor countCacheInvalidationPostProcessor(ObjectProvider<TotalCountCache> totalCountCache,
+                                                                        ObjectProvider<TeamStatsMaintainer> teamStatsMaintainer) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> {
+                                if (Member.class.equals(repositoryInformation.getDomainType())) {
+                                    proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+                                        Object result = invocation.proceed();
+                                        if (AnnotatedElementUtils.hasAnnotation(invocation.getMethod(), Modifying.class)) {
+                                            teamStatsMaintainer.getObject().rebuild();
+                                            totalCountCache.getObject().invalidateAfterCommit();
+                                        }
+                                        return result;
+                                    });
+                                }
+                            }));
+                }
+                return bean;
+            }
+        };
+    }
+}
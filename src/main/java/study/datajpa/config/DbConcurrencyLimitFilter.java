@@ -0,0 +1,47 @@
+package study.datajpa.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// DB를 사용하는 요청의 동시 실행 수를 커넥션 풀 크기로 제한한다.
+// OSIV 에서는 요청이 끝날때까지 커넥션을 잡고 있으므로 요청 단위로 제한하는 것이 커넥션 사용량과 맞는다.
+// 가상 스레드는 세마포어 대기 중에 캐리어 스레드를 놓아주므로 대기 비용이 거의 없다.
+public class DbConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutMillis;
+
+    public DbConcurrencyLimitFilter(int permits, long acquireTimeoutMillis) {
+        this.permits = new Semaphore(permits, true);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "database is busy");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
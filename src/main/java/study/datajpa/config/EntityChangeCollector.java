@@ -0,0 +1,55 @@
+package study.datajpa.config;
+
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import study.datajpa.entity.Team;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+// 하이버네이트 엔티티 이벤트에서 나온 변경분을 세션(트랜잭션)별로 모아두고 커밋 직전에 같은 트랜잭션에서 한번에 반영한다.
+// 롤백되면 반영하지 않고 버린다. 세션은 한 스레드에서만 사용되므로 changes 는 동기화하지 않아도 된다.
+// ( TeamStatsMaintainer, OutboxWriter )
+public class EntityChangeCollector<T> {
+
+    private final Map<EventSource, T> pending = new ConcurrentHashMap<>();
+    private final Supplier<T> factory;
+    private final BiConsumer<SessionImplementor, T> beforeCompletion;
+
+    public EntityChangeCollector(Supplier<T> factory, BiConsumer<SessionImplementor, T> beforeCompletion) {
+        this.factory = factory;
+        this.beforeCompletion = beforeCompletion;
+    }
+
+    // 세션의 첫 변경일 때 커밋 직전 반영, 트랜잭션 종료 후 정리를 등록한다.
+    public T changes(EventSource session) {
+        return pending.computeIfAbsent(session, s -> {
+            T changes = factory.get();
+            s.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) sessionImplementor -> beforeCompletion.accept(sessionImplementor, changes));
+            s.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, sessionImplementor) -> pending.remove(s));
+            return changes;
+        });
+    }
+
+    // 이벤트 state 배열에서 속성 위치
+    public static int statePosition(EntityPersister persister, String attribute) {
+        return persister.findAttributeMapping(attribute).getStateArrayPosition();
+    }
+
+    // 지연로딩 프록시를 초기화하지 않고 식별자만 꺼낸다.
+    public static Long teamId(Object team) {
+        if (team == null) {
+            return null;
+        }
+        if (team instanceof HibernateProxy proxy) {
+            return (Long) proxy.getHibernateLazyInitializer().getIdentifier();
+        }
+        return ((Team) team).getId();
+    }
+}
@@ -0,0 +1,62 @@
+package study.datajpa.config;
+
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.ehcache.xml.XmlConfiguration;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ClassUtils;
+
+import javax.cache.Caching;
+import java.net.URI;
+import java.net.URL;
+import java.util.UUID;
+
+@Configuration
+public class HibernateConfig {
+
+    @Bean
+    public QueryCountGuard queryCountGuard(@Value("${member.query-count-guard.mode:OFF}") QueryCountGuard.Mode mode,
+                                           @Value("${member.query-count-guard.threshold:50}") int threshold) {
+        return new QueryCountGuard(mode, threshold);
+    }
+
+    @Bean
+    public SqlStatementCounter sqlStatementCounter() {
+        return new SqlStatementCounter();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer statementInspectorCustomizer(SqlStatementCounter sqlStatementCounter,
+                                                                     QueryCountGuard queryCountGuard) {
+        return properties -> {
+            StatementInspector inspector = sql -> queryCountGuard.inspect(sqlStatementCounter.inspect(sql));
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlStatementCounter.FlushListener.class.getName());
+        };
+    }
+
+    // 컨텍스트마다 별도의 CacheManager ( 설정은 같은 ehcache.xml )
+    // uri 만 주면 같은 JVM의 컨텍스트들이 하나의 CacheManager 를 공유해서 다른 DB의 엔티티가 섞이고,
+    // 먼저 닫히는 컨텍스트가 CacheManager 를 닫아버린다.
+    @Bean
+    public HibernatePropertiesCustomizer cacheManagerCustomizer(
+            @Value("${spring.jpa.properties.hibernate.javax.cache.uri:ehcache.xml}") String configLocation) {
+        return properties -> {
+            ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+            URL config = classLoader.getResource(configLocation);
+            if (config == null) {
+                throw new IllegalStateException("ehcache 설정을 찾을 수 없습니다. " + configLocation);
+            }
+            EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(
+                    EhcacheCachingProvider.class.getName(), classLoader);
+            URI cacheManagerUri = URI.create("urn:datajpa:" + UUID.randomUUID()); // 같은 uri 면 같은 CacheManager 를 돌려준다.
+            properties.put(ConfigSettings.CACHE_MANAGER,
+                    provider.getCacheManager(cacheManagerUri, new XmlConfiguration(config, classLoader)));
+        };
+    }
+}
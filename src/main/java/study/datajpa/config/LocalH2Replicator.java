@@ -0,0 +1,67 @@
+package study.datajpa.config;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// 로컬 테스트용 복제 흉내 ( H2 인스턴스 두개 ), 운영에서는 DB 자체 복제를 사용하고 이 빈은 켜지 않는다.
+// 주기마다 원본 전체를 SCRIPT 로 떠서 복제본에 다시 만든다. ( 복사 중에는 복제본 조회가 실패할 수 있다. )
+@Slf4j
+public class LocalH2Replicator implements AutoCloseable {
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final Path script;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "local-h2-replicator");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public LocalH2Replicator(DataSource primary, DataSource replica) {
+        this.primary = primary;
+        this.replica = replica;
+        try {
+            this.script = Files.createTempFile("replica-", ".sql");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void start(long intervalMillis) {
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                replicate();
+            } catch (SQLException e) {
+                log.warn("local replication failed : {}", e.getMessage());
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void replicate() throws SQLException {
+        String path = script.toAbsolutePath().toString().replace("'", "''");
+        try (Connection connection = primary.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("SCRIPT TO '" + path + "'");
+        }
+        try (Connection connection = replica.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            statement.execute("RUNSCRIPT FROM '" + path + "'");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        scheduler.shutdownNow();
+        Files.deleteIfExists(script);
+    }
+}
@@ -0,0 +1,43 @@
+package study.datajpa.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 샘플 회원 데이터 ( 기존 MemberController @PostConstruct 에서 한건씩 저장하던 것 )
+// 컨텍스트가 다 뜨고 웹 서버가 요청을 받기 시작한 뒤에 한 트랜잭션에서 배치 INSERT 한다.
+// 이미 회원이 있으면 ( ddl-auto: update 등 ) 다시 넣지 않는다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "member.seed.enabled", havingValue = "true", matchIfMissing = true)
+public class MemberSeeder implements ApplicationRunner {
+
+    private final MemberRepository memberRepository;
+
+    @Value("${member.seed.count:100}")
+    private int count;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (memberRepository.count() > 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<Member> members = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            members.add(new Member("user" + i, i));
+        }
+        int saved = memberRepository.saveAllBatched(members, 100);
+        log.info("seeded {} members in {} ms", saved, (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,80 @@
+package study.datajpa.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// 트랜잭션 하나에서 실행된 SELECT 수를 센다. ( 지연로딩 N+1 감지용, 개발/테스트 환경에서 사용 )
+// threshold 를 넘으면 WARN 은 로그만 남기고, FAIL 은 해당 SQL 실행을 예외로 막는다.
+@Slf4j
+public class QueryCountGuard implements StatementInspector {
+
+    public enum Mode { OFF, WARN, FAIL }
+
+    private final Mode mode;
+    private final int threshold;
+
+    public QueryCountGuard(Mode mode, int threshold) {
+        this.mode = mode;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        if (mode == Mode.OFF || !isSelect(sql) || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return sql;
+        }
+        int count = ++currentCounter().selects;
+        if (count > threshold) {
+            if (mode == Mode.FAIL) {
+                throw new IllegalStateException("too many SELECT statements in one transaction : " + count
+                        + " ( threshold " + threshold + " ), check lazy loading (N+1) : " + sql);
+            }
+            if (count == threshold + 1) { // 트랜잭션당 한번만
+                log.warn("SELECT statements in one transaction exceeded {}, check lazy loading (N+1) : {}", threshold, sql);
+            }
+        }
+        return sql;
+    }
+
+    // 현재 트랜잭션에서 실행된 SELECT 수, 트랜잭션 밖이면 0
+    public int currentTransactionCount() {
+        Counter counter = (Counter) TransactionSynchronizationManager.getResource(this);
+        return counter == null ? 0 : counter.selects;
+    }
+
+    private Counter currentCounter() {
+        Counter counter = (Counter) TransactionSynchronizationManager.getResource(this);
+        if (counter == null) {
+            Counter newCounter = new Counter();
+            TransactionSynchronizationManager.bindResource(this, newCounter);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void suspend() { // REQUIRES_NEW 등으로 트랜잭션이 중단되면 카운터도 같이 떼어둔다.
+                    TransactionSynchronizationManager.unbindResourceIfPossible(QueryCountGuard.this);
+                }
+
+                @Override
+                public void resume() {
+                    TransactionSynchronizationManager.bindResource(QueryCountGuard.this, newCounter);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(QueryCountGuard.this);
+                }
+            });
+            counter = newCounter;
+        }
+        return counter;
+    }
+
+    private boolean isSelect(String sql) {
+        return sql.stripLeading().regionMatches(true, 0, "select", 0, 6);
+    }
+
+    private static class Counter {
+        private int selects;
+    }
+}
@@ -0,0 +1,187 @@
+package study.datajpa.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Parameter;
+import jakarta.persistence.Query;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// 시작할 때 리포지토리에 선언된 JPQL(@Query, 카운트 쿼리, 네임드 쿼리)을 SQL로 바꿔 EXPLAIN 하고 풀 테이블 스캔을 보고한다.
+// 조건(WHERE)이 없는 쿼리는 원래 전체를 읽으므로 info 로만 남기고, 조건이 있는데 풀 스캔이면 warn ( fail-on-full-scan 이면 시작 실패 )
+// 실행계획 형식은 H2 기준 ( /* PUBLIC.MEMBER.tableScan */ )
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "member.query-plan-check.enabled", havingValue = "true")
+public class QueryPlanChecker implements ApplicationRunner {
+
+    private static final Pattern WHERE = Pattern.compile("\\bwhere\\b", Pattern.CASE_INSENSITIVE);
+
+    private final ListableBeanFactory beanFactory;
+    private final SessionFactory sessionFactory;
+    private final boolean failOnFullScan;
+
+    public QueryPlanChecker(ListableBeanFactory beanFactory, EntityManagerFactory emf,
+                            @Value("${member.query-plan-check.fail-on-full-scan:false}") boolean failOnFullScan) {
+        this.beanFactory = beanFactory;
+        this.sessionFactory = emf.unwrap(SessionFactory.class);
+        this.failOnFullScan = failOnFullScan;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<QueryPlan> plans = check();
+        List<QueryPlan> unexpected = plans.stream().filter(QueryPlan::unexpectedFullScan).toList();
+        for (QueryPlan plan : plans) {
+            if (plan.unexpectedFullScan()) {
+                log.warn("full table scan on filtered query {} : {}", plan.source(), plan.plan());
+            } else if (plan.fullScan()) {
+                log.info("full table scan on unfiltered query {}", plan.source());
+            }
+        }
+        log.info("query plan check : {} queries, {} unexpected full scans", plans.size(), unexpected.size());
+        if (failOnFullScan && !unexpected.isEmpty()) {
+            throw new IllegalStateException("full table scan on filtered queries : "
+                    + unexpected.stream().map(QueryPlan::source).toList());
+        }
+    }
+
+    public List<QueryPlan> check() {
+        List<QueryPlan> plans = new ArrayList<>();
+        List<String> captured = new ArrayList<>();
+        // 이 세션에서 실행되는 SQL만 가로챈다. ( 다른 요청의 SQL과 섞이지 않도록 )
+        try (Session session = sessionFactory.withOptions()
+                .statementInspector(sql -> { captured.add(sql); return sql; })
+                .openSession()) {
+            session.beginTransaction();
+            try {
+                for (Map.Entry<String, String> query : declaredQueries().entrySet()) {
+                    captured.clear();
+                    try {
+                        run(session, query.getValue());
+                        if (!captured.isEmpty()) {
+                            String sql = captured.get(0);
+                            plans.add(new QueryPlan(query.getKey(), sql, explain(session, sql), WHERE.matcher(sql).find()));
+                        }
+                    } catch (RuntimeException e) {
+                        log.warn("could not check query plan of {} : {}", query.getKey(), e.getMessage());
+                    }
+                }
+            } finally {
+                session.getTransaction().rollback(); // 읽기만 하지만 남기지 않는다.
+            }
+        }
+        return plans;
+    }
+
+    // 출처(리포지토리.메소드) -> JPQL, 네임드 쿼리는 "named:" 접두사
+    private Map<String, String> declaredQueries() {
+        Map<String, String> queries = new LinkedHashMap<>();
+        Repositories repositories = new Repositories(beanFactory);
+        for (Class<?> domainType : repositories) {
+            repositories.getRepositoryInformationFor(domainType).ifPresent(info -> {
+                for (Method method : info.getQueryMethods()) {
+                    org.springframework.data.jpa.repository.Query annotation = AnnotatedElementUtils
+                            .findMergedAnnotation(method, org.springframework.data.jpa.repository.Query.class);
+                    if (annotation == null || annotation.nativeQuery()
+                            || AnnotatedElementUtils.hasAnnotation(method, Modifying.class)) {
+                        continue; // 메소드 이름 쿼리, 네이티브 쿼리, 수정 쿼리는 제외
+                    }
+                    String source = info.getRepositoryInterface().getSimpleName() + "." + method.getName();
+                    if (!annotation.value().isEmpty()) {
+                        queries.putIfAbsent(source, annotation.value());
+                    } else if (!annotation.name().isEmpty()) {
+                        queries.putIfAbsent(source, "named:" + annotation.name());
+                    }
+                    if (!annotation.countQuery().isEmpty()) {
+                        queries.putIfAbsent(source + ".count", annotation.countQuery());
+                    }
+                }
+            });
+        }
+        return queries;
+    }
+
+    // 결과 타입은 보지 않으므로 Object ( 생성자 표현식, 다중 컬럼 조회도 그대로 실행된다. )
+    private void run(Session session, String jpql) {
+        Query query = jpql.startsWith("named:")
+                ? session.createNamedQuery(jpql.substring("named:".length()), Object.class)
+                : session.createQuery(jpql, Object.class);
+        for (Parameter<?> parameter : query.getParameters()) {
+            query.setParameter(parameter.getName(), sampleValue(parameter.getParameterType()));
+        }
+        query.setMaxResults(1).getResultList();
+    }
+
+    // 실행계획만 보면 되므로 타입에 맞는 아무 값
+    private Object sampleValue(Class<?> type) {
+        if (type == null || type == String.class) {
+            return "0";
+        }
+        if (type == Long.class || type == long.class) {
+            return 0L;
+        }
+        if (type == Integer.class || type == int.class) {
+            return 0;
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.now();
+        }
+        return null;
+    }
+
+    private String explain(Session session, String sql) {
+        return session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                ParameterMetaData parameters = statement.getParameterMetaData();
+                for (int i = 1; i <= parameters.getParameterCount(); i++) {
+                    switch (parameters.getParameterType(i)) {
+                        case Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE, Types.DATE ->
+                                statement.setTimestamp(i, Timestamp.valueOf(LocalDateTime.now()));
+                        default -> statement.setString(i, "1"); // 숫자/문자 컬럼 타입으로 변환된다.
+                    }
+                }
+                try (ResultSet rs = statement.executeQuery()) {
+                    StringBuilder plan = new StringBuilder();
+                    while (rs.next()) {
+                        plan.append(rs.getString(1));
+                    }
+                    return plan.toString();
+                }
+            }
+        });
+    }
+
+    public record QueryPlan(String source, String sql, String plan, boolean filtered) {
+
+        public boolean fullScan() {
+            return plan.contains(".tableScan");
+        }
+
+        public boolean unexpectedFullScan() {
+            return filtered && fullScan();
+        }
+    }
+}
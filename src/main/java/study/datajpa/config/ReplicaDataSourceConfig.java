@@ -0,0 +1,105 @@
+package study.datajpa.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+
+// member.replica.enabled=true 이면 원본(spring.datasource) + 복제본(member.replica) 커넥션 풀을 만들고
+// 읽기 전용 트랜잭션은 복제본으로 보낸다. ( ReplicaRoutingDataSource 참고 )
+// 리포지토리 조회 메소드는 기본이 @Transactional(readOnly = true) 이므로 바깥 트랜잭션이 없으면 복제본에서 읽는다.
+// 커넥션 풀은 빈으로 등록하지 않는다. ( DataSource 빈은 하나, p6spy 로그도 한번만 남도록 )
+@Configuration
+@ConditionalOnProperty(name = "member.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig implements DisposableBean {
+
+    private final HikariDataSource primary;
+    private final HikariDataSource replica;
+
+    public ReplicaDataSourceConfig(DataSourceProperties properties, Environment environment) {
+        Binder binder = Binder.get(environment);
+
+        primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+
+        replica = DataSourceBuilder.create().type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(environment.getRequiredProperty("member.replica.url"))
+                .username(environment.getProperty("member.replica.username", properties.determineUsername()))
+                .password(environment.getProperty("member.replica.password", properties.determinePassword()))
+                .build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+        binder.bind("member.replica.hikari", Bindable.ofInstance(replica)); // 복제본만 다르게 줄 설정
+        replica.setPoolName("replica");
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaLagMonitor replicaLagMonitor(@Value("${member.replica.max-lag-millis:3000}") long maxLagMillis,
+                                               @Value("${member.replica.check-interval-millis:1000}") long checkIntervalMillis) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(primary, replica, maxLagMillis);
+        monitor.start(checkIntervalMillis);
+        return monitor;
+    }
+
+    @Bean
+    public DataSource dataSource(ReplicaLagMonitor replicaLagMonitor) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, replicaLagMonitor));
+    }
+
+    // 스프링 부트 기본 JpaTransactionManager 대신 사용 ( 트랜잭션 시작 전에 readOnly 여부를 라우팅에 넘겨준다. )
+    @Bean
+    public PlatformTransactionManager transactionManager(ObjectProvider<TransactionManagerCustomizers> transactionManagerCustomizers) {
+        ReplicaRoutingTransactionManager transactionManager = new ReplicaRoutingTransactionManager();
+        transactionManagerCustomizers.ifAvailable(customizers -> customizers.customize(transactionManager));
+        return transactionManager;
+    }
+
+    // 풀이 빈이 아니라서 스프링 부트가 hikaricp.* 메트릭을 붙이지 않으므로 직접 붙인다. ( pool 태그 primary/replica )
+    @Bean
+    public MeterBinder replicaPoolMetrics() {
+        return registry -> {
+            MicrometerMetricsTrackerFactory factory = new MicrometerMetricsTrackerFactory(registry);
+            primary.setMetricsTrackerFactory(factory);
+            replica.setMetricsTrackerFactory(factory);
+        };
+    }
+
+    @Bean
+    public MeterBinder replicaLagMetrics(ReplicaLagMonitor replicaLagMonitor) {
+        return registry -> Gauge.builder("db.replica.lag", replicaLagMonitor, ReplicaLagMonitor::lagMillis)
+                .description("replication lag measured by heartbeat ( -1 before the first check )")
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "member.replica.local-sync.enabled", havingValue = "true")
+    public LocalH2Replicator localH2Replicator(@Value("${member.replica.local-sync.interval-millis:1000}") long intervalMillis) {
+        LocalH2Replicator replicator = new LocalH2Replicator(primary, replica);
+        replicator.start(intervalMillis);
+        return replicator;
+    }
+
+    @Override
+    public void destroy() {
+        replica.close();
+        primary.close();
+    }
+}
@@ -0,0 +1,103 @@
+package study.datajpa.config;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// 복제 지연 측정 : 원본 replica_heartbeat 에 현재 시각을 쓰고, 복제본에 복제된 마지막 시각과의 차이를 지연으로 본다.
+// ( 측정 주기만큼의 지연은 항상 포함되므로 max-lag 는 check-interval 보다 크게 잡는다. )
+// 첫 측정 전이나 복제본 연결 실패시에는 사용하지 않는다.
+@Slf4j
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long maxLagMillis;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "replica-lag-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean replicaUsable;
+    private volatile long lagMillis = -1;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, long maxLagMillis) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    public void start(long checkIntervalMillis) {
+        scheduler.scheduleWithFixedDelay(this::check, 0, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void check() {
+        long now = System.currentTimeMillis();
+        try {
+            writeHeartbeat(now);
+        } catch (SQLException e) {
+            log.warn("could not write replica heartbeat on primary : {}", e.getMessage());
+        }
+        boolean wasUsable = replicaUsable;
+        try {
+            long replicated = readHeartbeat();
+            lagMillis = replicated < 0 ? Long.MAX_VALUE : now - replicated;
+            replicaUsable = lagMillis <= maxLagMillis;
+        } catch (SQLException e) {
+            lagMillis = Long.MAX_VALUE;
+            replicaUsable = false;
+        }
+        if (wasUsable != replicaUsable) {
+            log.warn("replica {} ( lag {} ms, max {} ms )", replicaUsable ? "back in use" : "bypassed, reading from primary",
+                    lagMillis == Long.MAX_VALUE ? "unknown" : lagMillis, maxLagMillis);
+        }
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    // 측정 전이거나 알 수 없으면 -1 / Long.MAX_VALUE
+    public long lagMillis() {
+        return lagMillis;
+    }
+
+    private void writeHeartbeat(long now) throws SQLException {
+        try (Connection connection = primary.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT PRIMARY KEY, beat BIGINT NOT NULL)");
+            }
+            try (PreparedStatement update = connection.prepareStatement("UPDATE replica_heartbeat SET beat = ? WHERE id = 1")) {
+                update.setLong(1, now);
+                if (update.executeUpdate() == 0) {
+                    try (PreparedStatement insert = connection.prepareStatement("INSERT INTO replica_heartbeat (id, beat) VALUES (1, ?)")) {
+                        insert.setLong(1, now);
+                        insert.executeUpdate();
+                    }
+                }
+            }
+        }
+    }
+
+    private long readHeartbeat() throws SQLException {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT beat FROM replica_heartbeat WHERE id = 1")) {
+            return rs.next() ? rs.getLong(1) : -1;
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,70 @@
+package study.datajpa.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+
+// 읽기 전용 트랜잭션은 복제본, 나머지는 원본으로 보낸다.
+// 복제본이 죽었거나 지연(lag)이 허용치를 넘으면 읽기 전용이어도 원본으로 보낸다.
+// readOnly 여부는 ReplicaRoutingTransactionManager 가 트랜잭션을 시작하기 전에 넣어준다. ( 커넥션을 언제 가져가든 같은 결과 )
+// REQUIRES_NEW 로 안쪽 트랜잭션이 새로 시작되면 끝날때까지 안쪽 트랜잭션 기준, 그래서 스택으로 관리한다.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target { PRIMARY, REPLICA }
+
+    private static final ThreadLocal<Deque<Boolean>> readOnlyTransactions = new ThreadLocal<>();
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentTarget();
+    }
+
+    public Target currentTarget() {
+        if (isReadOnly() && lagMonitor.isReplicaUsable()) {
+            return Target.REPLICA;
+        }
+        return Target.PRIMARY;
+    }
+
+    static void beginTransaction(boolean readOnly) {
+        Deque<Boolean> transactions = readOnlyTransactions.get();
+        if (transactions == null) {
+            transactions = new ArrayDeque<>();
+            readOnlyTransactions.set(transactions);
+        }
+        transactions.push(readOnly);
+    }
+
+    static void endTransaction() {
+        Deque<Boolean> transactions = readOnlyTransactions.get();
+        if (transactions == null) {
+            return;
+        }
+        transactions.poll();
+        if (transactions.isEmpty()) {
+            readOnlyTransactions.remove();
+        }
+    }
+
+    // 다른 트랜잭션 매니저로 시작한 트랜잭션은 동기화 정보로 판단한다.
+    private static boolean isReadOnly() {
+        Deque<Boolean> transactions = readOnlyTransactions.get();
+        if (transactions != null) {
+            return transactions.peek();
+        }
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+}
@@ -0,0 +1,30 @@
+package study.datajpa.config;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+// 트랜잭션을 시작하기 전에 readOnly 여부를 ReplicaRoutingDataSource 에 알려준다.
+// TransactionSynchronizationManager 의 readOnly 는 doBegin 이 끝난 뒤에 설정되는데,
+// 커넥션은 doBegin 안에서 ( p6spy 가 getMetaData 를 호출하는 등 ) 이미 가져올 수 있다.
+public class ReplicaRoutingTransactionManager extends JpaTransactionManager {
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        ReplicaRoutingDataSource.beginTransaction(definition.isReadOnly());
+        try {
+            super.doBegin(transaction, definition);
+        } catch (RuntimeException | Error e) { // 시작에 실패하면 doCleanupAfterCompletion 이 호출되지 않는다.
+            ReplicaRoutingDataSource.endTransaction();
+            throw e;
+        }
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        try {
+            super.doCleanupAfterCompletion(transaction);
+        } finally {
+            ReplicaRoutingDataSource.endTransaction();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package study.datajpa.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Slice;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// 리포지토리 메소드 호출마다 지연시간, 반환 행 수, 실행된 SQL 수, flush 여부를 기록한다.
+// 모든 메트릭에 repository, method 태그가 붙는다. ( /actuator/metrics/repository.invocations?tag=method:findByAge )
+// 미터는 메소드마다 처음 호출될 때 한번만 등록해두고 재사용한다. ( 호출마다 builder 생성, 레지스트리 조회를 하지 않는다. )
+public class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final String repository;
+    private final Map<Method, Meters> meters = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    public RepositoryMetricsInterceptor(ObjectProvider<MeterRegistry> meterRegistry, Class<?> repositoryInterface) {
+        this.meterRegistry = meterRegistry;
+        this.repository = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        MeterRegistry registry = registry();
+        if (registry == null) {
+            return invocation.proceed();
+        }
+        Meters meters = this.meters.computeIfAbsent(invocation.getMethod(), method -> register(registry, method));
+        long statementsBefore = SqlStatementCounter.statements();
+        long flushesBefore = SqlStatementCounter.flushes();
+        long start = System.nanoTime();
+        Timer timer = meters.success();
+        Object result = null;
+        try {
+            result = invocation.proceed();
+            return result;
+        } catch (Throwable e) {
+            timer = meters.error();
+            throw e;
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            meters.statements().record(SqlStatementCounter.statements() - statementsBefore);
+            if (SqlStatementCounter.flushes() > flushesBefore) {
+                meters.flushes().increment();
+            }
+            long rows = rows(result);
+            if (rows >= 0 && meters.rows() != null) {
+                meters.rows().record(rows);
+            }
+        }
+    }
+
+    private MeterRegistry registry() {
+        MeterRegistry registry = this.registry;
+        if (registry == null) {
+            registry = meterRegistry.getIfAvailable();
+            this.registry = registry;
+        }
+        return registry;
+    }
+
+    private Meters register(MeterRegistry registry, Method method) {
+        String name = method.getName();
+        return new Meters(
+                invocations(registry, name, "success"),
+                invocations(registry, name, "error"),
+                DistributionSummary.builder("repository.statements")
+                        .tags("repository", repository, "method", name)
+                        .register(registry),
+                Counter.builder("repository.flushes")
+                        .tags("repository", repository, "method", name)
+                        .register(registry),
+                returnsRows(method.getReturnType())
+                        ? DistributionSummary.builder("repository.rows")
+                                .tags("repository", repository, "method", name)
+                                .register(registry)
+                        : null);
+    }
+
+    private Timer invocations(MeterRegistry registry, String method, String outcome) {
+        return Timer.builder("repository.invocations")
+                .tags("repository", repository, "method", method, "outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    // 숫자/boolean/void 를 반환하는 메소드(count, exists, delete, 벌크 수정)는 행 수를 기록하지 않는다.
+    private boolean returnsRows(Class<?> returnType) {
+        return !returnType.isPrimitive() && !Number.class.isAssignableFrom(returnType) && returnType != Boolean.class;
+    }
+
+    // 조회 결과 행 수, 숫자/boolean/void 등 행으로 볼 수 없는 반환값은 -1
+    private long rows(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result == null || result instanceof Number || result instanceof Boolean) {
+            return -1;
+        }
+        return 1;
+    }
+
+    // rows 는 행을 반환하지 않는 메소드면 null
+    private record Meters(Timer success, Timer error, DistributionSummary statements, Counter flushes, DistributionSummary rows) {
+    }
+}
@@ -0,0 +1,32 @@
+package study.datajpa.config;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// 스레드별로 실행된 SQL 수, flush 수를 센다. ( 리포지토리 메소드 호출 전후 차이로 메소드별 통계를 낸다. )
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNTS = ThreadLocal.withInitial(() -> new long[2]); // [statements, flushes]
+
+    @Override
+    public String inspect(String sql) {
+        COUNTS.get()[0]++;
+        return sql;
+    }
+
+    public static long statements() {
+        return COUNTS.get()[0];
+    }
+
+    public static long flushes() {
+        return COUNTS.get()[1];
+    }
+
+    // 세션마다 하이버네이트가 생성한다. ( hibernate.session.events.auto )
+    public static class FlushListener extends BaseSessionEventListener {
+        @Override
+        public void flushEnd(int numberOfEntities, int numberOfCollections) {
+            COUNTS.get()[1]++;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package study.datajpa.config;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+// 트랜잭션마다 한번만 계산해서 트랜잭션이 끝날때까지 재사용하는 값
+// 트랜잭션 밖에서는 매번 계산한다.
+public class TransactionScopedValue<T> {
+
+    private final Supplier<T> supplier;
+
+    public TransactionScopedValue(Supplier<T> supplier) {
+        this.supplier = supplier;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return supplier.get();
+        }
+        T value = (T) TransactionSynchronizationManager.getResource(this);
+        if (value == null) {
+            T newValue = supplier.get();
+            TransactionSynchronizationManager.bindResource(this, newValue);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void suspend() {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TransactionScopedValue.this);
+                }
+
+                @Override
+                public void resume() {
+                    TransactionSynchronizationManager.bindResource(TransactionScopedValue.this, newValue);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TransactionScopedValue.this);
+                }
+            });
+            value = newValue;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,49 @@
+package study.datajpa.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// member.web.virtual-threads=true 이면 톰캣 요청을 가상 스레드에서 실행하고 DB 요청 동시 실행 수를 커넥션 풀 크기로 제한한다.
+// 프로젝트는 Java 17 기준이므로 가상 스레드 API는 리플렉션으로 찾는다. ( Java 21 미만에서는 기존 스레드 풀 그대로 )
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "member.web.virtual-threads", havingValue = "true")
+public class VirtualThreadWebConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadExecutorCustomizer() {
+        ExecutorService executor = newVirtualThreadExecutor();
+        if (executor == null) {
+            log.warn("virtual threads are not supported on Java {}, using the default Tomcat thread pool",
+                    Runtime.version().feature());
+            return protocolHandler -> { };
+        }
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    @Bean
+    public FilterRegistrationBean<DbConcurrencyLimitFilter> dbConcurrencyLimitFilter(
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${member.web.db-acquire-timeout-millis:30000}") long acquireTimeoutMillis) {
+        FilterRegistrationBean<DbConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new DbConcurrencyLimitFilter(poolSize, acquireTimeoutMillis));
+        registration.addUrlPatterns("/members", "/members/*", "/members2/*");
+        return registration;
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
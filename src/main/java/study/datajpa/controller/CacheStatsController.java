@@ -0,0 +1,31 @@
+package study.datajpa.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import study.datajpa.cache.SecondLevelCacheStats;
+import study.datajpa.dto.CacheRegionStatsDto;
+import study.datajpa.dto.QueryCacheStatsDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class CacheStatsController {
+
+    private final SecondLevelCacheStats secondLevelCacheStats;
+
+    @GetMapping("/cache/stats")
+    public List<CacheRegionStatsDto> stats(){
+        return secondLevelCacheStats.regions();
+    }
+
+    @GetMapping("/cache/query-stats")
+    public List<QueryCacheStatsDto> queryStats(){
+        List<QueryCacheStatsDto> result = new ArrayList<>();
+        result.add(secondLevelCacheStats.queryCache());
+        result.addAll(secondLevelCacheStats.queries());
+        return result;
+    }
+}
@@ -1,23 +1,36 @@
 package study.datajpa.controller;
 
-import jakarta.annotation.PostConstruct;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import study.datajpa.dto.KeysetSlice;
 import study.datajpa.dto.MemberDto;
 import study.datajpa.entity.Member;
 import study.datajpa.repository.MemberRepository;
 
+import java.util.List;
+
 @RestController
 @RequiredArgsConstructor
 public class MemberController {
 
+    private static final int MAX_PAGE_SIZE = 2000; // yml의 max-page-size와 동일
+
     private final MemberRepository memberRepository;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/members/{id}")
     public String findMember(@PathVariable("id") Long id ){
@@ -46,10 +59,48 @@ public class MemberController {
 
 
     }
-    @PostConstruct
-    public void init(){
-        for(int i =0; i<100; i++){
-            memberRepository.save(new Member("user"+i,i));
+
+    // 읽기 전용 DTO 조회 경로, 엔티티를 조회해서 MemberDto::new 로 변환하지 않고 DTO를 바로 조회한다.
+    // Page 객체나 JSON 트리를 만들지 않고 JsonGenerator로 바로 응답 스트림에 쓴다. ( 토탈 카운트 없음 )
+    @GetMapping("/members/dto")
+    public ResponseEntity<StreamingResponseBody> listDto(@PageableDefault(size=5) Pageable pageable){
+        List<MemberDto> content = memberRepository.findMemberDtoPage(pageable);
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartArray();
+                for (MemberDto dto : content) {
+                    generator.writeStartObject();
+                    generator.writeNumberField("id", dto.getId());
+                    generator.writeStringField("username", dto.getUsername());
+                    generator.writeStringField("teamName", dto.getTeamName());
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    // 키셋 페이징, 깊은 페이지도 첫 페이지와 비용이 같다. 토탈 카운트는 제공하지 않는다.
+    // 다음 페이지는 응답의 nextToken을 token 파라미터로 넘겨서 조회한다.
+    @GetMapping("/members/keyset")
+    public KeysetSlice<MemberDto> keysetList(@RequestParam(value = "token", required = false) String token,
+                                             @RequestParam(value = "size", defaultValue = "5") int size){
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Long lastId;
+        try {
+            lastId = KeysetSlice.decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+
+        List<Member> members = memberRepository.findKeysetPage(lastId, PageRequest.of(0, limit + 1)); // 하나 더 조회해서 다음 페이지 여부 확인
+        boolean hasNext = members.size() > limit;
+        if (hasNext) {
+            members = members.subList(0, limit);
         }
+        Long nextLastId = members.isEmpty() ? lastId : members.get(members.size() - 1).getId();
+        return new KeysetSlice<>(members.stream().map(MemberDto::new).toList(), nextLastId, hasNext);
     }
 }
@@ -0,0 +1,37 @@
+package study.datajpa.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import study.datajpa.dto.TeamStatsDto;
+import study.datajpa.entity.TeamStats;
+import study.datajpa.repository.TeamStatsRepository;
+
+import java.util.List;
+
+// 대시보드용 팀 통계, 회원 수와 상관없이 팀 수만큼만 읽는다.
+@RestController
+@RequiredArgsConstructor
+public class TeamStatsController {
+
+    private final TeamStatsRepository teamStatsRepository;
+
+    @GetMapping("/teams/stats")
+    public List<TeamStatsDto> summaries(){
+        return teamStatsRepository.findTeamSummaries();
+    }
+
+    @GetMapping("/teams/{id}/stats")
+    public TeamStatsDto summary(@PathVariable("id") Long id){
+        return teamStatsRepository.findTeamSummary(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
+
+    @GetMapping("/teams/{id}/age-distribution")
+    public List<TeamStats> ageDistribution(@PathVariable("id") Long id){
+        return teamStatsRepository.findByTeamIdOrderByAgeBucket(id);
+    }
+}
@@ -0,0 +1,44 @@
+package study.datajpa.dto;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+// 키셋(seek) 페이징 결과, OFFSET/COUNT 없이 마지막 키 다음부터 조회한다.
+// nextToken은 클라이언트 입장에서 불투명한 값으로 그대로 다음 요청에 넘겨주기만 하면 된다.
+@Getter
+public class KeysetSlice<T> {
+
+    private final List<T> content;
+    private final String nextToken;
+    private final boolean hasNext;
+
+    public KeysetSlice(List<T> content, Long lastId, boolean hasNext) {
+        this.content = content;
+        this.hasNext = hasNext;
+        this.nextToken = hasNext ? encode(lastId) : null;
+    }
+
+    public static String encode(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("id:" + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 토큰이 없으면 첫 페이지 ( id > 0 )
+    public static Long decode(String token) {
+        if (token == null || token.isBlank()) {
+            return 0L;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!raw.startsWith("id:")) {
+                throw new IllegalArgumentException("invalid continuation token : " + token);
+            }
+            return Long.parseLong(raw.substring(3));
+        } catch (IllegalArgumentException e) { // NumberFormatException 포함
+            throw new IllegalArgumentException("invalid continuation token : " + token, e);
+        }
+    }
+}
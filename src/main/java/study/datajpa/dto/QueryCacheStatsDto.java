@@ -0,0 +1,21 @@
+package study.datajpa.dto;
+
+import lombok.Data;
+
+@Data
+public class QueryCacheStatsDto {
+    private String query;
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    private double hitRatio;
+
+    public QueryCacheStatsDto(String query, long hitCount, long missCount, long putCount) {
+        this.query = query;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.putCount = putCount;
+        long total = hitCount + missCount;
+        this.hitRatio = total == 0 ? 0 : (double) hitCount / total;
+    }
+}
@@ -0,0 +1,22 @@
+package study.datajpa.dto;
+
+import lombok.Data;
+
+@Data
+public class TeamStatsDto {
+    private Long teamId;
+    private String teamName;
+    private long memberCount;
+    private long ageSum;
+
+    public TeamStatsDto(Long teamId, String teamName, Long memberCount, Long ageSum) {
+        this.teamId = teamId;
+        this.teamName = teamName;
+        this.memberCount = memberCount == null ? 0 : memberCount;
+        this.ageSum = ageSum == null ? 0 : ageSum;
+    }
+
+    public double getAverageAge() {
+        return memberCount == 0 ? 0 : (double) ageSum / memberCount;
+    }
+}
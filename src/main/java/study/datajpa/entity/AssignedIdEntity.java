@@ -0,0 +1,28 @@
+package study.datajpa.entity;
+
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+
+// 식별자를 직접 할당하거나 애플리케이션에서 생성하는 엔티티의 공통 부모
+// 식별자가 항상 있으므로 스프링 데이터 JPA 는 새 엔티티인지 알 수 없어 save() 시 merge(SELECT 후 INSERT)를 한다.
+// DB에서 조회(@PostLoad)되거나 저장(@PostPersist)된 적이 있는지를 플래그로 들고 있다가 isNew()에 사용한다.
+@MappedSuperclass
+public abstract class AssignedIdEntity<ID> implements Persistable<ID> {
+
+    @Transient
+    private boolean persisted;
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+}
@@ -1,15 +1,13 @@
 package study.datajpa.entity;
 
-import com.fasterxml.jackson.databind.ser.Serializers;
 import jakarta.persistence.Column;
-import jakarta.persistence.EntityListeners;
 import jakarta.persistence.MappedSuperclass;
 import lombok.Getter;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.LastModifiedBy;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
-@EntityListeners(AuditingEntityListener.class)
+import java.time.LocalDateTime;
+
 @MappedSuperclass
 @Getter
 public class BaseEntity extends BaseTimeEntity { // BaseTimeEntity 시간은 어느테이블이나 필요하므로 따로 최상위 클래스로 분리한다.
@@ -21,5 +19,11 @@ public class BaseEntity extends BaseTimeEntity { // BaseTimeEntity 시간은 어
     @LastModifiedBy
     private String lastModifiedBy;
 
-
+    // 대량 저장용, 리스너 대신 직접 값을 넣는다.
+    @Override
+    public void markBulkCreated(LocalDateTime now, String auditor) {
+        super.markBulkCreated(now, auditor);
+        this.createdBy = auditor;
+        this.lastModifiedBy = auditor;
+    }
 }
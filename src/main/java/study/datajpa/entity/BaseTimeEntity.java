@@ -3,21 +3,40 @@ package study.datajpa.entity;
 import jakarta.persistence.Column;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
 
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners(BulkAwareAuditingEntityListener.class) // 하위 클래스(BaseEntity)에도 적용된다.
 @MappedSuperclass
 @Getter
-public class BaseTimeEntity {
+public class BaseTimeEntity implements BulkCreatable {
     @CreatedDate
     @Column(updatable = true)
     private LocalDateTime createdDate;
 
     @LastModifiedDate
+    @Column(name = "updated_date") // 변경 피드 인덱스(columnList)에서 이 이름을 사용한다.
     private LocalDateTime updatedDate;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private boolean bulkCreated; // 대량 저장으로 값을 넣은 인스턴스, 리스너가 INSERT 때 다시 계산하지 않는다.
+
+    // 대량 저장용, 리스너 대신 직접 값을 넣는다. ( 생성자는 BaseEntity )
+    @Override
+    public void markBulkCreated(LocalDateTime now, String auditor) {
+        this.createdDate = now;
+        this.updatedDate = now;
+        this.bulkCreated = true;
+    }
+
+    @Override
+    public boolean isBulkCreated() {
+        return bulkCreated;
+    }
 }
@@ -0,0 +1,34 @@
+package study.datajpa.entity;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.auditing.AuditingHandler;
+import org.springframework.stereotype.Component;
+
+// AuditingEntityListener 와 같은 일을 하지만 대량 저장한 인스턴스의 INSERT 는 건너뛴다.
+// 대량 저장은 생성자/시간을 한번만 구해서 엔티티에 직접 넣는다. ( BulkCreatable.markBulkCreated )
+// 같은 flush 에 섞인 다른 엔티티의 INSERT/UPDATE 는 그대로 기록된다.
+// 하이버네이트가 스프링 빈으로 가져가므로 AuditingHandler 를 생성자로 주입받는다.
+@Component
+public class BulkAwareAuditingEntityListener {
+
+    private final ObjectProvider<AuditingHandler> auditingHandler;
+
+    public BulkAwareAuditingEntityListener(ObjectProvider<AuditingHandler> auditingHandler) {
+        this.auditingHandler = auditingHandler;
+    }
+
+    @PrePersist
+    public void touchForCreate(Object target) {
+        if (target instanceof BulkCreatable entity && entity.isBulkCreated()) {
+            return;
+        }
+        auditingHandler.getObject().markCreated(target);
+    }
+
+    @PreUpdate
+    public void touchForUpdate(Object target) {
+        auditingHandler.getObject().markModified(target);
+    }
+}
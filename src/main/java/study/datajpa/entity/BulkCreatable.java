@@ -0,0 +1,12 @@
+package study.datajpa.entity;
+
+import java.time.LocalDateTime;
+
+// 대량 저장( BulkPersister )때 리스너 대신 생성자/시간을 직접 받는 엔티티
+// 값을 받은 인스턴스는 BulkAwareAuditingEntityListener 가 INSERT 때 건너뛴다.
+public interface BulkCreatable {
+
+    void markBulkCreated(LocalDateTime now, String auditor);
+
+    boolean isBulkCreated();
+}
@@ -1,41 +1,56 @@
 package study.datajpa.entity;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
-import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Transient;
 import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
-import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
-import org.springframework.data.domain.Persistable;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+import study.datajpa.entity.id.SnowflakeId;
 
 import java.time.LocalDateTime;
 
 @Entity
-@EntityListeners(AuditingEntityListener.class)
+@Getter
+@EntityListeners(BulkAwareAuditingEntityListener.class)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-public class Item implements Persistable<String> {
+public class Item extends AssignedIdEntity<Long> implements BulkCreatable { // isNew() 는 AssignedIdEntity 참고
 
-    @Id
-    private String id;
+    // 가변 길이 문자열 키 대신 고정 길이(BIGINT) 시간순 키, persist 시점에 애플리케이션에서 생성한다.
+    @Id @SnowflakeId
+    @Column(name = "item_id")
+    private Long id;
+
+    private String name;
 
     @CreatedDate
     private LocalDateTime createdDate;
 
-    public Item(String id) {
-        this.id = id;
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private boolean bulkCreated;
+
+    public Item(String name) {
+        this.name = name;
     }
 
     @Override
-    public String getId() {
+    public Long getId() {
         return id;
     }
 
+    // 대량 저장용 ( InsertOnlyRepository.insertAll ), 생성자 컬럼은 없다.
     @Override
-    public boolean isNew() {
-        return createdDate == null;
+    public void markBulkCreated(LocalDateTime now, String auditor) {
+        this.createdDate = now;
+        this.bulkCreated = true;
     }
-}
 
+    @Override
+    public boolean isBulkCreated() {
+        return bulkCreated;
+    }
+}
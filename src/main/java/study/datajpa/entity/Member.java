@@ -2,6 +2,8 @@ package study.datajpa.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.web.bind.annotation.GetMapping;
 
 @Entity
@@ -13,13 +15,29 @@ import org.springframework.web.bind.annotation.GetMapping;
         query = "SELECT m FROM Member m WHERE m.username = :username"
 )
 @NamedEntityGraph(name = "Member.all",attributeNodes = @NamedAttributeNode("team"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // 2차 캐시, 리전 이름은 클래스 이름 ( ehcache.xml 참고 )
+@SequenceGenerator(name = "member_seq_generator", sequenceName = "member_seq", allocationSize = 50)
+// 조회 조건별 인덱스, ddl-auto 는 PK/FK만 만들어주므로 직접 선언한다. ( 실행계획은 QueryPlanChecker 참고 )
+// username, (username, age) 조건은 복합 인덱스 하나로 처리하고 username 만 읽는 findUsernameList 는 인덱스만 읽는다. ( 커버링 )
+// (team_id, username) 은 팀 조인/Team.members 로딩용이고 PK가 인덱스에 포함되어 MemberDto(id, username, team) 프로젝션도 커버한다.
+@Table(indexes = {
+        @Index(name = "idx_member_username_age", columnList = "username, age"),
+        @Index(name = "idx_member_age", columnList = "age"),
+        @Index(name = "idx_member_team_username", columnList = "team_id, username"),
+        @Index(name = "idx_member_updated", columnList = "updated_date, member_id") // 변경 피드 키셋
+})
 public class Member extends BaseEntity{
-    @Id @GeneratedValue
+    // pooled 옵티마이저 : 시퀀스를 한번 호출해서 50개씩 미리 할당받아 INSERT마다 시퀀스를 호출하지 않는다.
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq_generator")
     @Column(name ="member_id")
     private Long id;
     private String username;
     private int age;
 
+    @Version // 낙관적 락, 수정시 version 을 조건으로 UPDATE 해서 다른 트랜잭션이 먼저 수정했으면 예외 발생
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name="team_id")
     private Team team;
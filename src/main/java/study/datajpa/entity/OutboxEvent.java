@@ -0,0 +1,38 @@
+package study.datajpa.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+// 트랜잭셔널 아웃박스, Member/Team 변경과 같은 트랜잭션에서 JDBC 로 INSERT 한다. ( OutboxWriter )
+// 릴레이가 발행하고 나면 지우므로 테이블에는 아직 발행되지 않은 이벤트만 남는다.
+// id 는 시간순 snowflake, 릴레이는 id 순서로 발행한다.
+@Entity
+@Getter
+@Immutable
+@Table(name = "outbox_event")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+public class OutboxEvent {
+
+    @Id
+    private Long id;
+
+    private String aggregateType;
+    private Long aggregateId;
+    private Long aggregateVersion; // 같은 애그리거트 이벤트 순서 ( 수신측 중복/순서 확인용 )
+    private String eventType;
+
+    @Column(length = 4000)
+    private String payload; // JSON
+
+    private LocalDateTime createdDate;
+}
@@ -3,23 +3,38 @@ package study.datajpa.entity;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Data
+@EqualsAndHashCode(callSuper = false) // 수정 시간은 비교하지 않는다.
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id","name"})
-public class Team {
+@BatchSize(size = 100) // Member.team 프록시를 초기화할 때 다른 Member의 team 프록시도 IN 절로 같이 초기화
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // 거의 읽기만 하는 엔티티
+@SequenceGenerator(name = "team_seq_generator", sequenceName = "team_seq", allocationSize = 50)
+@Table(indexes = @Index(name = "idx_team_updated", columnList = "updated_date, team_id")) // 변경 피드 키셋
+public class Team extends BaseTimeEntity { // 변경 피드를 위해 수정 시간 기록
 
-    @Id @GeneratedValue
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "team_seq_generator")
     @Column(name = "team_id")
     private Long id;
     private String name;
 
+    @Version
+    private Long version;
+
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // 컬렉션 캐시는 Member id 목록만 저장한다.
+    @BatchSize(size = 100)
     @OneToMany(mappedBy = "team")
     private List<Member> members = new ArrayList<>();
 
@@ -0,0 +1,45 @@
+package study.datajpa.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+
+// 팀별 나이대(10살 단위) 회원 수, 나이 합계 집계 ( 대시보드 조회용 읽기 모델 )
+// 팀이 생길 때 나이대 행을 모두 만들어두고 Member 변경시 TeamStatsMaintainer 가 SQL로 갱신한다. ( 엔티티로는 수정하지 않는다. )
+@Entity
+@Getter
+@Immutable
+@IdClass(TeamStats.Key.class)
+// 복합 PK 컬럼은 속성 이름 순서 (age_bucket, team_id) 로 만들어지므로 팀 단위 조회/삭제용 인덱스를 따로 둔다.
+@Table(name = "team_stats", indexes = @Index(name = "idx_team_stats_team", columnList = "team_id, age_bucket"))
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+public class TeamStats {
+
+    public static final int AGE_BUCKETS = 13; // 0~9세, 10대 ... 110대, 120세 이상
+
+    @Id
+    @Column(name = "team_id")
+    private Long teamId;
+
+    @Id
+    @Column(name = "age_bucket")
+    private int ageBucket;
+
+    private long memberCount;
+    private long ageSum;
+
+    public static int ageBucket(int age) {
+        return Math.max(0, Math.min(age / 10, AGE_BUCKETS - 1));
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long teamId;
+        private int ageBucket;
+    }
+}
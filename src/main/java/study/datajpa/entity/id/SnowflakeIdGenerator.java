@@ -0,0 +1,38 @@
+package study.datajpa.entity.id;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import java.lang.reflect.Member;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 노드 번호는 hibernate.id.snowflake.node 설정 ( 서버마다 다르게 )
+public class SnowflakeIdGenerator implements IdentifierGenerator {
+
+    public static final String NODE_SETTING = "hibernate.id.snowflake.node";
+
+    // 같은 노드 번호면 엔티티가 달라도 하나의 생성기를 공유한다. ( 같은 밀리초 순번이 겹치지 않도록 )
+    private static final Map<Long, SnowflakeIds> NODES = new ConcurrentHashMap<>();
+
+    private final SnowflakeIds ids;
+
+    public SnowflakeIdGenerator(SnowflakeId config, Member idMember, CustomIdGeneratorCreationContext context) {
+        long node = context.getServiceRegistry().getService(ConfigurationService.class)
+                .getSetting(NODE_SETTING, StandardConverters.INTEGER, 0);
+        this.ids = forNode(node);
+    }
+
+    // 엔티티 밖(JDBC 로 직접 INSERT 하는 테이블)에서도 같은 노드의 생성기를 사용하도록
+    public static SnowflakeIds forNode(long node) {
+        return NODES.computeIfAbsent(node, SnowflakeIds::new);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return ids.next();
+    }
+}
@@ -0,0 +1,44 @@
+package study.datajpa.entity.id;
+
+// 64비트 = 부호(1) + 타임스탬프 밀리초(41, 약 69년) + 노드(10) + 밀리초 내 순번(12)
+// 같은 노드에서는 항상 증가하고, 노드가 다르면 겹치지 않는다. ( 노드당 밀리초에 4096개 )
+public final class SnowflakeIds {
+
+    static final long EPOCH = 1672531200000L; // 2023-01-01T00:00:00Z
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+    private final long node;
+    private long lastTimestamp = -1;
+    private long sequence;
+
+    public SnowflakeIds(long node) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("node must be between 0 and " + MAX_NODE + " : " + node);
+        }
+        this.node = node;
+    }
+
+    public synchronized long next() {
+        long timestamp = Math.max(System.currentTimeMillis(), lastTimestamp); // 시계가 뒤로 가도 감소하지 않도록
+        if (timestamp == lastTimestamp) {
+            sequence = (sequence + 1) & MAX_SEQUENCE;
+            if (sequence == 0) { // 이번 밀리초 순번을 다 썼으면 다음 밀리초로
+                timestamp = lastTimestamp + 1;
+                while (System.currentTimeMillis() < timestamp) {
+                    Thread.onSpinWait();
+                }
+            }
+        } else {
+            sequence = 0;
+        }
+        lastTimestamp = timestamp;
+        return ((timestamp - EPOCH) << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | sequence;
+    }
+
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH;
+    }
+}
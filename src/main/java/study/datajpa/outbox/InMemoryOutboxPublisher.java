@@ -0,0 +1,37 @@
+package study.datajpa.outbox;
+
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+// 로컬/테스트용 발행 대상, 최근 capacity 개만 메모리에 보관한다. ( member.outbox.in-memory.enabled )
+public class InMemoryOutboxPublisher implements OutboxPublisher {
+
+    private final int capacity;
+    private final Deque<OutboxMessage> messages = new ArrayDeque<>();
+    private long publishedCount;
+
+    public InMemoryOutboxPublisher(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> batch) {
+        for (OutboxMessage message : batch) {
+            if (messages.size() == capacity) {
+                messages.removeFirst();
+            }
+            messages.addLast(message);
+        }
+        publishedCount += batch.size();
+    }
+
+    public synchronized List<OutboxMessage> messages() {
+        return new ArrayList<>(messages);
+    }
+
+    public synchronized long publishedCount() {
+        return publishedCount;
+    }
+}
@@ -0,0 +1,38 @@
+package study.datajpa.outbox;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@Configuration
+public class OutboxConfig {
+
+    // 로컬/테스트용, 명시적으로 켰을 때만 등록한다. ( 오래된 이벤트를 버리므로 운영에서 쓰면 이벤트가 유실된다. )
+    @Bean
+    @ConditionalOnMissingBean(OutboxPublisher.class)
+    @ConditionalOnProperty(name = "member.outbox.in-memory.enabled", havingValue = "true")
+    public InMemoryOutboxPublisher inMemoryOutboxPublisher(@Value("${member.outbox.in-memory.capacity:100000}") int capacity) {
+        return new InMemoryOutboxPublisher(capacity);
+    }
+
+    // 발행한 행은 삭제하므로 켰는데 발행 대상(OutboxPublisher 빈)이 없으면 시작하지 않는다.
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "member.outbox.relay.enabled", havingValue = "true")
+    public OutboxRelay outboxRelay(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                   ObjectProvider<OutboxPublisher> publisher,
+                                   @Value("${member.outbox.relay.batch-size:500}") int batchSize,
+                                   @Value("${member.outbox.relay.poll-interval-millis:100}") long pollIntervalMillis) {
+        OutboxPublisher target = publisher.getIfAvailable(() -> {
+            throw new IllegalStateException("member.outbox.relay.enabled=true but no OutboxPublisher bean is registered"
+                    + " ( member.outbox.in-memory.enabled=true for local use )");
+        });
+        OutboxRelay relay = new OutboxRelay(jdbcTemplate, transactionManager, target, batchSize);
+        relay.start(pollIntervalMillis);
+        return relay;
+    }
+}
@@ -0,0 +1,8 @@
+package study.datajpa.outbox;
+
+import java.time.LocalDateTime;
+
+// 발행되는 이벤트, id 로 수신측에서 중복을 걸러낸다. ( 발행 후 삭제 전에 실패하면 다시 발행된다. )
+public record OutboxMessage(long id, String aggregateType, long aggregateId, long aggregateVersion,
+                            String eventType, String payload, LocalDateTime createdDate) {
+}
@@ -0,0 +1,11 @@
+package study.datajpa.outbox;
+
+import java.util.List;
+
+// 메시지 브로커 등 실제 발행 대상, 릴레이(member.outbox.relay.enabled)를 켜려면 빈이 있어야 한다.
+// 메시지는 id 순서로 넘어오고, 예외를 던지면 같은 배치를 나중에 다시 넘긴다.
+@FunctionalInterface
+public interface OutboxPublisher {
+
+    void publish(List<OutboxMessage> messages);
+}
@@ -0,0 +1,80 @@
+package study.datajpa.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// 아웃박스를 id 순서로 batchSize 만큼씩 읽어 발행하고 지운다. 배치가 가득 차 있으면 쉬지 않고 다음 배치를 읽는다.
+// 한 스레드가 순서대로 발행하므로 같은 애그리거트의 이벤트 순서가 유지된다.
+// 여러 서버에서 띄워도 FOR UPDATE 로 한번에 하나의 릴레이만 같은 행을 발행한다. ( 최소 한번 발행, 수신측은 id 로 중복 제거 )
+@Slf4j
+public class OutboxRelay implements AutoCloseable {
+
+    private static final String SELECT_SQL = "SELECT id, aggregate_type, aggregate_id, aggregate_version, event_type, payload, created_date" +
+            " FROM outbox_event ORDER BY id FETCH FIRST ? ROWS ONLY FOR UPDATE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxPublisher publisher;
+    private final int batchSize;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "outbox-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                       OutboxPublisher publisher, int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.publisher = publisher;
+        this.batchSize = batchSize;
+    }
+
+    public void start(long pollIntervalMillis) {
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                drain();
+            } catch (RuntimeException e) { // 다음 주기에 같은 배치부터 다시
+                log.warn("outbox relay failed, retrying in {} ms : {}", pollIntervalMillis, e.getMessage());
+            }
+        }, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // 남은 이벤트를 모두 발행하고 발행한 수를 반환
+    public synchronized long drain() {
+        long published = 0;
+        while (true) {
+            Integer count = transactionTemplate.execute(status -> relayBatch());
+            published += count;
+            if (count < batchSize) {
+                return published;
+            }
+        }
+    }
+
+    // 발행과 삭제가 한 트랜잭션, 발행이 실패하면 롤백되어 그대로 남는다.
+    private int relayBatch() {
+        List<OutboxMessage> messages = jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> new OutboxMessage(
+                rs.getLong("id"), rs.getString("aggregate_type"), rs.getLong("aggregate_id"), rs.getLong("aggregate_version"),
+                rs.getString("event_type"), rs.getString("payload"), rs.getTimestamp("created_date").toLocalDateTime()), batchSize);
+        if (messages.isEmpty()) {
+            return 0;
+        }
+        publisher.publish(messages);
+        jdbcTemplate.batchUpdate("DELETE FROM outbox_event WHERE id = ?",
+                messages.stream().map(message -> new Object[]{message.id()}).toList());
+        return messages.size();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,138 @@
+package study.datajpa.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import study.datajpa.config.EntityChangeCollector;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.entity.id.SnowflakeIdGenerator;
+import study.datajpa.entity.id.SnowflakeIds;
+
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import static study.datajpa.config.EntityChangeCollector.statePosition;
+import static study.datajpa.config.EntityChangeCollector.teamId;
+
+// Member/Team 저장, 수정(changeTeam 포함)을 아웃박스 이벤트로 남긴다.
+// 리포지토리 save 든 변경감지든 하이버네이트 이벤트로 모아두고 커밋 직전에 같은 트랜잭션에서 한번에 배치 INSERT 한다.
+// 롤백되면 이벤트도 남지 않는다. JPQL/네이티브 벌크 수정은 이벤트가 없다. ( 변경 피드 ChangeFeed 로 확인 )
+@Component
+public class OutboxWriter implements PostInsertEventListener, PostUpdateEventListener {
+
+    public static final String MEMBER_CREATED = "MemberCreated";
+    public static final String MEMBER_TEAM_CHANGED = "MemberTeamChanged";
+    public static final String MEMBER_UPDATED = "MemberUpdated";
+    public static final String TEAM_CREATED = "TeamCreated";
+    public static final String TEAM_UPDATED = "TeamUpdated";
+
+    private static final String INSERT_SQL = "INSERT INTO outbox_event" +
+            " (id, aggregate_type, aggregate_id, aggregate_version, event_type, payload, created_date) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final ObjectMapper objectMapper;
+    private final SnowflakeIds ids;
+    private final EntityChangeCollector<List<OutboxMessage>> pending = new EntityChangeCollector<>(ArrayList::new, this::write);
+
+    public OutboxWriter(EntityManagerFactory emf, ObjectMapper objectMapper,
+                        @Value("${spring.jpa.properties.hibernate.id.snowflake.node:0}") long node) {
+        this.objectMapper = objectMapper;
+        this.ids = SnowflakeIdGenerator.forNode(node);
+        EventListenerRegistry registry = emf.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Member member) {
+            add(event.getSession(), "Member", member.getId(), member.getVersion(), MEMBER_CREATED, memberPayload(member, null));
+        } else if (event.getEntity() instanceof Team team) {
+            add(event.getSession(), "Team", team.getId(), team.getVersion(), TEAM_CREATED, teamPayload(team));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Member member) {
+            Object[] oldState = event.getOldState();
+            Long previousTeamId = oldState == null ? null
+                    : teamId(oldState[statePosition(event.getPersister(), "team")]);
+            boolean teamChanged = oldState != null && !Objects.equals(previousTeamId, teamId(member.getTeam()));
+            add(event.getSession(), "Member", member.getId(), member.getVersion(),
+                    teamChanged ? MEMBER_TEAM_CHANGED : MEMBER_UPDATED, memberPayload(member, teamChanged ? previousTeamId : null));
+        } else if (event.getEntity() instanceof Team team) {
+            add(event.getSession(), "Team", team.getId(), team.getVersion(), TEAM_UPDATED, teamPayload(team));
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void add(EventSource session, String aggregateType, Long aggregateId, Long version, String eventType, Map<String, Object> payload) {
+        try {
+            OutboxMessage message = new OutboxMessage(ids.next(), aggregateType, aggregateId, version == null ? 0 : version,
+                    eventType, objectMapper.writeValueAsString(payload), LocalDateTime.now());
+            pending.changes(session).add(message);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(SessionImplementor session, List<OutboxMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        session.doWork(connection -> {
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+                for (OutboxMessage message : messages) {
+                    insert.setLong(1, message.id());
+                    insert.setString(2, message.aggregateType());
+                    insert.setLong(3, message.aggregateId());
+                    insert.setLong(4, message.aggregateVersion());
+                    insert.setString(5, message.eventType());
+                    insert.setString(6, message.payload());
+                    insert.setTimestamp(7, Timestamp.valueOf(message.createdDate()));
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+        });
+    }
+
+    private Map<String, Object> memberPayload(Member member, Long previousTeamId) {
+        Map<String, Object> payload = new LinkedHashMap<>(); // null 값 허용
+        payload.put("id", member.getId());
+        payload.put("username", member.getUsername());
+        payload.put("age", member.getAge());
+        payload.put("teamId", teamId(member.getTeam()));
+        if (previousTeamId != null) {
+            payload.put("previousTeamId", previousTeamId);
+        }
+        return payload;
+    }
+
+    private Map<String, Object> teamPayload(Team team) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", team.getId());
+        payload.put("name", team.getName());
+        return payload;
+    }
+}
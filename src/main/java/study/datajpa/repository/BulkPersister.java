@@ -0,0 +1,44 @@
+package study.datajpa.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Component;
+import study.datajpa.entity.BulkCreatable;
+
+import java.time.LocalDateTime;
+
+// 대량 저장 공통 로직
+// batchSize 마다 flush(JDBC 배치 전송) 후 clear 하여 영속성 컨텍스트가 계속 커지지 않도록 한다.
+// BulkCreatable 이면 생성자/시간은 한번만 구해서 직접 넣고 Auditing 리스너는 이 인스턴스들의 INSERT 만 건너뛴다.
+@Component
+@RequiredArgsConstructor
+public class BulkPersister {
+
+    private final AuditorAware<String> auditorProvider;
+    private final DateTimeProvider auditingDateTimeProvider;
+
+    public int persistAll(EntityManager em, Iterable<?> entities, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive : " + batchSize);
+        }
+        LocalDateTime now = auditingDateTimeProvider.getNow().map(LocalDateTime::from).orElseGet(LocalDateTime::now);
+        String auditor = auditorProvider.getCurrentAuditor().orElse(null);
+
+        int count = 0;
+        for (Object entity : entities) {
+            if (entity instanceof BulkCreatable bulk) {
+                bulk.markBulkCreated(now, auditor);
+            }
+            em.persist(entity);
+            if (++count % batchSize == 0) {
+                em.flush();
+                em.clear();
+            }
+        }
+        em.flush();
+        em.clear();
+        return count;
+    }
+}
@@ -0,0 +1,6 @@
+package study.datajpa.repository;
+
+// 청크 하나가 커밋될 때마다 전달된다.
+// 중단된 경우 lastCompletedId 를 저장해두었다가 resumeAfterId 로 넘기면 이어서 실행된다.
+public record BulkUpdateProgress(int chunks, int chunkRows, long totalRows, long lastCompletedId) {
+}
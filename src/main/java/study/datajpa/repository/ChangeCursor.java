@@ -0,0 +1,20 @@
+package study.datajpa.repository;
+
+import java.time.LocalDateTime;
+
+// 변경 피드 위치 ( high-water mark ), 이 (updatedDate, id) 보다 뒤의 변경분부터 읽는다.
+// 같은 updatedDate 를 가진 행이 많아도 id 로 순서가 정해지므로 배치 경계에서 빠지거나 중복되지 않는다.
+public record ChangeCursor(LocalDateTime updatedDate, long id) {
+
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    // 처음부터 전체 ( 최초 색인 )
+    public static ChangeCursor beginning() {
+        return new ChangeCursor(BEGINNING, 0L);
+    }
+
+    // 지금 이후 변경분만
+    public static ChangeCursor at(LocalDateTime updatedDate) {
+        return new ChangeCursor(updatedDate, 0L);
+    }
+}
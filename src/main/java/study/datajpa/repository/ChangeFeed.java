@@ -0,0 +1,79 @@
+package study.datajpa.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import study.datajpa.entity.BaseTimeEntity;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+// updatedDate 기준 변경 피드, 테이블 전체를 다시 읽지 않고 마지막 위치(ChangeCursor) 이후 변경분만 배치로 넘긴다.
+// updatedDate 는 트랜잭션 시작 시각이라 ( AuditingConfig ) 오래 걸린 트랜잭션은 커서보다 과거 시각으로 늦게 커밋될 수 있다.
+// 그래서 지금 - safety-lag 까지만 읽는다. ( safety-lag 는 가장 긴 쓰기 트랜잭션보다 길게 )
+// 벌크 수정(bulkAgePlus, MemberBulkUpdater)도 updatedDate 를 바꾸므로 피드에 나온다. ( 삭제는 나오지 않는다. )
+@Component
+@RequiredArgsConstructor
+public class ChangeFeed {
+
+    private final MemberRepository memberRepository;
+    private final TeamRepository teamRepository;
+
+    @Value("${member.change-feed.safety-lag-millis:5000}")
+    private long safetyLagMillis;
+
+    public ChangeCursor drainMembers(ChangeCursor from, int batchSize, ChangeSink<Member> sink) {
+        return drainMembers(from, safeUpperBound(), batchSize, sink);
+    }
+
+    public ChangeCursor drainMembers(ChangeCursor from, LocalDateTime upTo, int batchSize, ChangeSink<Member> sink) {
+        return drain(from, batchSize, sink, Member::getId,
+                (cursor, pageable) -> memberRepository.findChangedSince(cursor.updatedDate(), cursor.id(), upTo, pageable));
+    }
+
+    public ChangeCursor drainTeams(ChangeCursor from, int batchSize, ChangeSink<Team> sink) {
+        return drainTeams(from, safeUpperBound(), batchSize, sink);
+    }
+
+    public ChangeCursor drainTeams(ChangeCursor from, LocalDateTime upTo, int batchSize, ChangeSink<Team> sink) {
+        return drain(from, batchSize, sink, Team::getId,
+                (cursor, pageable) -> teamRepository.findChangedSince(cursor.updatedDate(), cursor.id(), upTo, pageable));
+    }
+
+    // 배치마다 조회 트랜잭션이 따로 끝나므로 넘겨주는 엔티티는 준영속 상태 ( 영속성 컨텍스트가 쌓이지 않는다. )
+    private <T extends BaseTimeEntity> ChangeCursor drain(ChangeCursor from, int batchSize, ChangeSink<T> sink,
+                                                          Function<T, Long> idOf, BatchQuery<T> query) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive : " + batchSize);
+        }
+        ChangeCursor cursor = from;
+        Pageable pageable = PageRequest.of(0, batchSize);
+        while (true) {
+            List<T> changes = query.find(cursor, pageable);
+            if (changes.isEmpty()) {
+                return cursor;
+            }
+            T last = changes.get(changes.size() - 1);
+            ChangeCursor next = new ChangeCursor(last.getUpdatedDate(), idOf.apply(last));
+            sink.accept(changes, next);
+            cursor = next;
+            if (changes.size() < batchSize) {
+                return cursor;
+            }
+        }
+    }
+
+    private LocalDateTime safeUpperBound() {
+        return LocalDateTime.now().minusNanos(safetyLagMillis * 1_000_000);
+    }
+
+    @FunctionalInterface
+    private interface BatchQuery<T> {
+        List<T> find(ChangeCursor cursor, Pageable pageable);
+    }
+}
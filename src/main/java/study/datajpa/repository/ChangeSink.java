@@ -0,0 +1,11 @@
+package study.datajpa.repository;
+
+import java.util.List;
+
+// 변경 피드 배치를 받는 쪽 ( 검색 색인 등 )
+// 처리가 끝나면 next 를 저장해두고 다음에 그 위치부터 다시 읽는다. 예외를 던지면 피드가 멈추고 같은 배치를 다시 받는다.
+@FunctionalInterface
+public interface ChangeSink<T> {
+
+    void accept(List<T> changes, ChangeCursor next);
+}
@@ -0,0 +1,10 @@
+package study.datajpa.repository;
+
+// 식별자를 직접 할당하는 엔티티의 대량 INSERT
+// save/saveAll 과 달리 isNew() 판단이나 merge 없이 항상 persist 하므로 INSERT 전 SELECT 가 나가지 않는다.
+// 이미 있는 식별자면 flush 시점에 키 중복 예외가 발생한다.
+// 배치 flush/clear 와 생성 시간 기록은 BulkPersister 를 같이 쓴다.
+public interface InsertOnlyRepository<T> {
+
+    int insertAll(Iterable<T> entities, int batchSize);
+}
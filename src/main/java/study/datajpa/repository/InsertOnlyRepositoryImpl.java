@@ -0,0 +1,18 @@
+package study.datajpa.repository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
+
+@RequiredArgsConstructor
+public class InsertOnlyRepositoryImpl<T> implements InsertOnlyRepository<T> {
+
+    private final EntityManager em;
+    private final BulkPersister bulkPersister;
+
+    @Override
+    @Transactional
+    public int insertAll(Iterable<T> entities, int batchSize) {
+        return bulkPersister.persistAll(em, entities, batchSize);
+    }
+}
@@ -0,0 +1,80 @@
+package study.datajpa.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.datajpa.entity.Member;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+// 대량 username IN 조회
+// IN 절 파라미터 수가 달라질 때마다 쿼리 플랜이 새로 만들어지므로 파라미터 수를 2의 제곱수(1,2,4,...,chunkSize)로 맞춘다.
+// chunkSize 보다 많으면 chunkSize 씩 잘라서 repositoryExecutor 에서 동시에 조회한다.
+// 플랜 수는 log2(chunkSize)+1 개를 넘지 않는다.
+// 결과는 입력 크기, 호출한 쪽 트랜잭션과 상관없이 항상 준영속이다. ( 청크마다 각자의 트랜잭션에서 조회 )
+@Component
+public class MemberBulkLookup {
+
+    private final MemberRepository memberRepository;
+    private final int chunkSize;
+
+    public MemberBulkLookup(MemberRepository memberRepository,
+                            @Value("${member.bulk-lookup.chunk-size:512}") int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive : " + chunkSize);
+        }
+        this.memberRepository = memberRepository;
+        this.chunkSize = bucketSize(chunkSize);
+    }
+
+    // 요청한 모든 username 이 key 로 들어간다. ( 없으면 빈 리스트 )
+    public Map<String, List<Member>> findByUsernames(Collection<String> usernames) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(usernames));
+        Map<String, List<Member>> result = new LinkedHashMap<>();
+        for (String username : distinct) {
+            result.put(username, new ArrayList<>());
+        }
+        if (distinct.isEmpty()) {
+            return result;
+        }
+
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            chunks.add(pad(distinct.subList(from, Math.min(from + chunkSize, distinct.size()))));
+        }
+
+        List<Member> members = new ArrayList<>();
+        if (chunks.size() == 1 && !TransactionSynchronizationManager.isActualTransactionActive()) {
+            members.addAll(memberRepository.findByNames(chunks.get(0))); // 호출한 스레드에서 자신의 트랜잭션으로 조회, 끝나면 준영속
+        } else { // 호출한 쪽 트랜잭션이 있으면 그 영속성 컨텍스트에 섞이지 않도록 청크가 하나여도 repositoryExecutor 에서 조회
+            MemberFanOut.fanOut(chunks, memberRepository::findAsyncByNames).join()
+                    .values()
+                    .forEach(members::addAll);
+        }
+        for (Member member : members) {
+            result.get(member.getUsername()).add(member);
+        }
+        return result;
+    }
+
+    // 마지막 값을 반복해서 2의 제곱수 크기로 채운다. ( 중복 값은 IN 결과에 영향이 없다. )
+    static List<String> pad(List<String> names) {
+        int size = bucketSize(names.size());
+        List<String> padded = new ArrayList<>(size);
+        padded.addAll(names);
+        String last = names.get(names.size() - 1);
+        while (padded.size() < size) {
+            padded.add(last);
+        }
+        return padded;
+    }
+
+    static int bucketSize(int size) {
+        return size <= 1 ? 1 : Integer.highestOneBit(size - 1) << 1;
+    }
+}
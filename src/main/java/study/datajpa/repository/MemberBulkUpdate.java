@@ -0,0 +1,54 @@
+package study.datajpa.repository;
+
+import java.util.Map;
+
+// 청크 단위 벌크 수정 정의 ( member 테이블 기준 네이티브 SQL 조각 )
+// SQL 조각은 아래 팩토리 메소드에 고정되어 있고, 호출하는 쪽 값은 모두 파라미터로 바인딩된다.
+public final class MemberBulkUpdate {
+
+    private static final String AGE_PLUS_ONE = "age = age + 1";
+    private static final String AGE_AT_LEAST = "age >= :age";
+    private static final String USERNAME_STARTS_WITH = "username LIKE :prefix ESCAPE '\\'";
+
+    private final String setClause;
+    private final String predicate;
+    private final Map<String, Object> parameters;
+    private final int chunkSize;
+
+    private MemberBulkUpdate(String setClause, String predicate, Map<String, Object> parameters, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive : " + chunkSize);
+        }
+        this.setClause = setClause;
+        this.predicate = predicate;
+        this.parameters = Map.copyOf(parameters);
+        this.chunkSize = chunkSize;
+    }
+
+    // bulkAgePlus 와 같은 수정 ( age >= :age 인 회원 나이 +1 )
+    public static MemberBulkUpdate agePlus(int age, int chunkSize) {
+        return new MemberBulkUpdate(AGE_PLUS_ONE, AGE_AT_LEAST, Map.of("age", age), chunkSize);
+    }
+
+    // username 이 prefix 로 시작하는 회원 나이 +1 ( prefix 의 %, _ 는 문자 그대로 비교 )
+    public static MemberBulkUpdate agePlusByUsernamePrefix(String prefix, int chunkSize) {
+        String escaped = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return new MemberBulkUpdate(AGE_PLUS_ONE, USERNAME_STARTS_WITH, Map.of("prefix", escaped + "%"), chunkSize);
+    }
+
+    public int chunkSize() {
+        return chunkSize;
+    }
+
+    String setClause() {
+        return setClause;
+    }
+
+    String predicate() {
+        return predicate;
+    }
+
+    Map<String, Object> parameters() {
+        return parameters;
+    }
+}
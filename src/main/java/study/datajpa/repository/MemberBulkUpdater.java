@@ -0,0 +1,125 @@
+package study.datajpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+// bulkAgePlus 처럼 한번에 전체를 UPDATE 하면 대상 행 락을 오래 잡고 있게 된다.
+// member_id 순서로 chunkSize 만큼씩 나눠서 청크마다 별도 트랜잭션으로 커밋한다.
+// 영속성 컨텍스트 clear, 2차 캐시 리전 전체 삭제 대신 수정된 Member 만 제거한다.
+@Component
+public class MemberBulkUpdater {
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final TransactionTemplate chunkTransaction;
+    private final TeamStatsMaintainer teamStatsMaintainer;
+    private final TotalCountCache totalCountCache;
+
+    public MemberBulkUpdater(PlatformTransactionManager transactionManager, TeamStatsMaintainer teamStatsMaintainer,
+                             TotalCountCache totalCountCache) {
+        this.teamStatsMaintainer = teamStatsMaintainer;
+        this.totalCountCache = totalCountCache;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public long execute(MemberBulkUpdate update, Consumer<BulkUpdateProgress> listener) {
+        return execute(update, 0L, listener);
+    }
+
+    // resumeAfterId 보다 큰 member_id 부터 시작, 수정된 전체 행 수를 반환
+    public long execute(MemberBulkUpdate update, long resumeAfterId, Consumer<BulkUpdateProgress> listener) {
+        long lastId = resumeAfterId;
+        long totalRows = 0;
+        int chunks = 0;
+        while (true) {
+            long lowerId = lastId;
+            Chunk chunk = chunkTransaction.execute(status -> updateChunk(update, lowerId));
+            if (chunk.ids().isEmpty()) {
+                break;
+            }
+            evict(chunk.ids());
+
+            lastId = chunk.ids().get(chunk.ids().size() - 1);
+            totalRows += chunk.updated();
+            chunks++;
+            listener.accept(new BulkUpdateProgress(chunks, chunk.updated(), totalRows, lastId));
+            if (chunk.ids().size() < update.chunkSize()) {
+                break;
+            }
+        }
+        if (totalRows > 0) {
+            teamStatsMaintainer.rebuild(); // 네이티브 수정은 엔티티 이벤트가 없으므로 팀 통계를 다시 계산
+        }
+        return totalRows;
+    }
+
+    private Chunk updateChunk(MemberBulkUpdate update, long lowerId) {
+        NativeQuery<?> select = em.createNativeQuery(
+                        "SELECT member_id FROM member WHERE member_id > :lowerId AND (" + update.predicate() + ") ORDER BY member_id")
+                .unwrap(NativeQuery.class);
+        select.setParameter("lowerId", lowerId);
+        update.parameters().forEach(select::setParameter);
+        List<Long> ids = select.setMaxResults(update.chunkSize())
+                .getResultList().stream()
+                .map(id -> ((Number) id).longValue())
+                .toList();
+        if (ids.isEmpty()) {
+            return new Chunk(ids, 0);
+        }
+
+        // 조회와 수정 사이에 바뀐 행이 있을 수 있으므로 조건을 다시 확인한다.
+        // version 도 올려서 이미 조회해둔 엔티티를 수정하려는 트랜잭션이 낙관적 락 예외를 받도록 한다.
+        // 쿼리 스페이스를 지정하지 않으면 하이버네이트가 2차 캐시 전체를 비우므로 가짜 스페이스를 지정하고 직접 제거한다.
+        // updated_date 도 바꿔서 변경 피드(ChangeFeed)에 나오도록 한다.
+        NativeQuery<?> updateQuery = em.createNativeQuery(
+                        "UPDATE member SET version = version + 1, updated_date = :bulkUpdatedDate, " + update.setClause()
+                                + " WHERE member_id IN (:ids) AND (" + update.predicate() + ")")
+                .unwrap(NativeQuery.class);
+        updateQuery.addSynchronizedQuerySpace("member_bulk_update");
+        updateQuery.setParameter("ids", ids);
+        updateQuery.setParameter("bulkUpdatedDate", LocalDateTime.now());
+        update.parameters().forEach(updateQuery::setParameter);
+        return new Chunk(ids, updateQuery.executeUpdate());
+    }
+
+    private void evict(List<Long> ids) {
+        Cache cache = em.getEntityManagerFactory().getCache().unwrap(Cache.class);
+        for (Long id : ids) {
+            cache.evictEntityData(Member.class, id);
+        }
+        cache.evictQueryRegions(); // 캐시된 쿼리 결과에 수정 전 값이 남지 않도록
+        totalCountCache.invalidateAll(); // 청크는 이미 커밋되었다.
+
+        // 호출한 쪽 트랜잭션의 영속성 컨텍스트에 있는 Member 만 준영속으로 ( 다음 조회때 DB에서 다시 읽는다. )
+        // getReference 는 없는 엔티티도 프록시를 만들어 등록하므로 영속성 컨텍스트를 직접 확인한다.
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            SessionImplementor session = em.unwrap(SessionImplementor.class);
+            EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(Member.class);
+            for (Long id : ids) {
+                Object managed = session.getPersistenceContext().getEntity(session.generateEntityKey(id, persister));
+                if (managed != null) {
+                    em.detach(managed);
+                }
+            }
+        }
+    }
+
+    private record Chunk(List<Long> ids, int updated) {
+    }
+}
@@ -0,0 +1,50 @@
+package study.datajpa.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import study.datajpa.entity.Member;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+// 서로 독립적인 조회를 동시에 실행하고 결과를 합친다.
+@Component
+@RequiredArgsConstructor
+public class MemberFanOut {
+
+    private final MemberRepository memberRepository;
+
+    // username 별 조회 결과
+    public CompletableFuture<Map<String, List<Member>>> findByUsernames(Collection<String> usernames) {
+        return fanOut(usernames, memberRepository::findAsyncByUsername);
+    }
+
+    // 여러 IN 조회를 동시에 실행하고 id 기준으로 중복을 제거해서 합친다.
+    public CompletableFuture<List<Member>> findByNameGroups(Collection<? extends Collection<String>> nameGroups) {
+        return fanOut(nameGroups, memberRepository::findAsyncByNames)
+                .thenApply(results -> {
+                    Map<Long, Member> merged = new LinkedHashMap<>();
+                    results.values().forEach(members -> members.forEach(m -> merged.putIfAbsent(m.getId(), m)));
+                    return List.copyOf(merged.values());
+                });
+    }
+
+    // keys 마다 lookup 을 동시에 실행, 하나라도 실패하면 전체가 실패한다.
+    public static <K, V> CompletableFuture<Map<K, V>> fanOut(Collection<? extends K> keys,
+                                                              Function<? super K, CompletableFuture<V>> lookup) {
+        Map<K, CompletableFuture<V>> futures = new LinkedHashMap<>();
+        for (K key : keys) {
+            futures.putIfAbsent(key, lookup.apply(key));
+        }
+        return CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    Map<K, V> result = new LinkedHashMap<>();
+                    futures.forEach((key, future) -> result.put(key, future.join()));
+                    return result;
+                });
+    }
+}
@@ -2,24 +2,37 @@ package study.datajpa.repository;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 import study.datajpa.entity.Member;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
+@RequiredArgsConstructor
 public class MemberJpaRepository {
 
     @PersistenceContext
     private EntityManager em;
 
+    private final BulkPersister bulkPersister;
+    private final TotalCountCache totalCountCache;
+    private final TeamStatsMaintainer teamStatsMaintainer;
+
 
     public Member save(Member member){
         em.persist(member);
         return member;
     }
 
+    // 대량 저장용, batchSize 마다 flush(JDBC 배치 전송) 후 clear 하여 영속성 컨텍스트가 계속 커지지 않도록 한다.
+    // hibernate.jdbc.batch_size 와 batchSize를 맞춰주는 것이 좋다.
+    public int saveAllBatched(Iterable<Member> members, int batchSize){
+        return bulkPersister.persistAll(em, members, batchSize);
+    }
+
     public void delete(Member member){
         em.remove(member);
     }
@@ -64,9 +77,14 @@ public class MemberJpaRepository {
     }
 
     public int bulkAgePlus(int age){
-        return em.createQuery("UPDATE Member m SET m.age = m.age + 1 WHERE m.age >= :age")
+        totalCountCache.invalidateAfterCommit(); // 엔티티 이벤트가 없으므로 직접 비운다.
+        // version 을 올려서 이전에 읽은 엔티티가 이 수정을 덮어쓰지 못하게 한다.
+        int updated = em.createQuery("UPDATE Member m SET m.age = m.age + 1, m.updatedDate = :now, m.version = m.version + 1 WHERE m.age >= :age")
                 .setParameter("age",age)
+                .setParameter("now", LocalDateTime.now()) // 변경 피드에 나오도록
                 .executeUpdate();
+        teamStatsMaintainer.rebuild(); // 같은 트랜잭션에서 다시 계산
+        return updated;
     }
 
 
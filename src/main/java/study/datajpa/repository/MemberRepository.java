@@ -8,12 +8,16 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.transaction.annotation.Transactional;
 import study.datajpa.dto.MemberDto;
 import study.datajpa.entity.Member;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 
 // 스프링데이터JPA가 제공하는 구현체를 그대로 사용하면 구현해야 할 기능이 너무 많다.
@@ -23,6 +27,9 @@ import java.util.Optional;
 // 그런데 단순한 쿼리, 복잡한 쿼리든 간에 결굴은 MemberRepository로 합쳐진다.
 // 그러므로 핵심비즈니스로직이냐 화면에 맞춘 로직(DTO)이냐의 차이로 복잡한 경우에는 아예 Repository를 분리하는 것이 좋다.
 // 사용자 정의 쿼리가 꼭 분리가 아님을 알아야 한다. 결국은 합쳐지는 것이다.
+// 선언한 쿼리 메소드는 기본 트랜잭션이 없으므로 읽기 전용 트랜잭션을 건다. ( member.replica.enabled=true 이면 복제본에서 조회 )
+// 수정/잠금 메소드는 @Transactional 로 다시 선언한다. 상속받은 CRUD 메소드는 SimpleJpaRepository 설정을 따른다.
+@Transactional(readOnly = true)
 public interface MemberRepository extends JpaRepository<Member,Long>, MemberRepositoryCustom { // JpaSpecificationExecutor<Member>
 
     List<Member> findByUsernameAndAgeGreaterThan(String username, int age); //파라미터가 두개까지는 메소드 이름으로 자동생성 사용, 넘어가면 JPQL로 풀기
@@ -33,7 +40,10 @@ public interface MemberRepository extends JpaRepository<Member,Long>, MemberRepo
     // Named쿼리는 컴파일 시점에 JPQL을 파싱을 해서 어플리케이션 로딩시점에 JPQL의 오타를 잡을 수 있다.
     // 스프링 데이터 JPA는 Member 클래스의 네임드쿼리를 먼저 찾는다.
     // 네임드 쿼리가 없을때 메소드이름으로 쿼리 구현을 한다.
+    // 쿼리 캐시 힌트 : member.query-cache.enabled=true 일때만 동작한다. ( 아니면 힌트가 무시된다. )
+    // 캐시된 결과는 쿼리가 사용하는 테이블(Member, Team)에 INSERT/UPDATE/DELETE 및 벌크 연산이 커밋되면 무효화된다.
     @Query(name = "Member.findByUsername")
+    @QueryHints(value = @QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<Member> findByUsername(@Param("username") String username); // setParameter 설정 정보
 
     // 이름이 없는 Named쿼리이다.
@@ -47,11 +57,19 @@ public interface MemberRepository extends JpaRepository<Member,Long>, MemberRepo
     List<String> findUsernameList();
 
     @Query("SELECT new study.datajpa.dto.MemberDto(m.id,m.username,t.name) FROM Member m JOIN m.team t")
+    @QueryHints(value = @QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<MemberDto> findMemberDto();
 
+    // 엔티티를 거치지 않고 바로 DTO로 조회 ( 영속성 컨텍스트에 엔티티, 스냅샷이 올라가지 않는다. )
+    // 반환타입이 List 이므로 카운트 쿼리가 나가지 않는다.
+    @Query("SELECT new study.datajpa.dto.MemberDto(m.id,m.username,t.name) FROM Member m LEFT JOIN m.team t")
+    @QueryHints(value = @QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    List<MemberDto> findMemberDtoPage(Pageable pageable);
+
     // 컬렉션 파라미터 바인딩 ( IN절 )
     // 위치기반 파라미터 바인딩은 거의 사용X, 이름 기반 파라미터 바인딩 사용권장
     @Query("SELECT m FROM Member m WHERE m.username IN :names ")
+    @QueryHints(value = @QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<Member> findByNames(@Param("names") Collection<String> names);
 
     // 스프링 데이터 JPA는 반환타임을 굉장히 자유롭게 가져갈 수 있다.
@@ -64,13 +82,40 @@ public interface MemberRepository extends JpaRepository<Member,Long>, MemberRepo
     //페이징 쿼리와 카운트 쿼리를 분리할 수 있음
     //페이징 쿼리가 복잡해지면 카운트 쿼리도 따라서 복잡해져서 성능이 떨어질때가 있음
     //어차피 left join이면 카우트 쿼리를 분리하여 최적화시키면 성능을 올릴 수 있다. ( 자세히 다시 정리하기 )
-    //@Query(value = "SELECT m FROM Member m LEFT JOIN m.team t",countQuery = "SELECT COUNT(m.username) FROM Member m")
-    @Query(value = "SELECT m FROM Member m LEFT JOIN m.team t ")
+    //LEFT JOIN 은 Member 행 수를 바꾸지 않으므로 카운트 쿼리에서는 조인을 뺀다.
+    @Query(value = "SELECT m FROM Member m LEFT JOIN m.team t ", countQuery = "SELECT COUNT(m) FROM Member m")
     Page<Member> findByAge(int age, Pageable pageable);
 
+    //토탈이 필요없는 경우 ( 더보기 ), limit+1 로 조회해서 다음 페이지 여부만 확인하고 카운트 쿼리는 나가지 않는다.
+    @Query(value = "SELECT m FROM Member m LEFT JOIN m.team t ")
+    Slice<Member> findSliceByAge(int age, Pageable pageable);
+
+    // 키셋 페이징 : OFFSET 으로 앞 페이지를 버리지 않고 PK 인덱스로 바로 lastId 다음부터 읽는다.
+    // 반환타입이 List 이므로 카운트 쿼리가 나가지 않는다. ( Pageable은 limit 용도로만 사용, 항상 0페이지 )
+    @Query("SELECT m FROM Member m WHERE m.id > :lastId ORDER BY m.id")
+    List<Member> findKeysetPage(@Param("lastId") Long lastId, Pageable pageable);
+
+    // 엔티티 이벤트가 없으므로 같은 트랜잭션에서 team_stats 를 다시 계산한다. ( CountCacheConfig )
+    @Transactional
+    default int bulkAgePlus(int age) {
+        return bulkAgePlus(age, LocalDateTime.now());
+    }
+
+    // Auditing 을 거치지 않으므로 updatedDate 를 직접 바꿔서 변경 피드(ChangeFeed)에 나오도록 한다.
+    // version 도 올려야 이 수정 전에 읽어둔 엔티티의 저장이 낙관적 락 예외로 실패한다. ( 덮어쓰기 방지 )
+    @Transactional
     @Modifying(clearAutomatically = true) // 수정 쿼리 사용시 어노테이션을 추가해야 한다. clearAutomatically 자동으로 엔티티매니저 클리어시키기
-    @Query("UPDATE Member m SET m.age = m.age+1 WHERE m.age >= :age")
-    int bulkAgePlus(@Param("age") int age);
+    @Query("UPDATE Member m SET m.age = m.age+1, m.updatedDate = :now, m.version = m.version + 1 WHERE m.age >= :age")
+    int bulkAgePlus(@Param("age") int age, @Param("now") LocalDateTime now);
+
+    // 변경 피드 : (updatedDate, id) 키셋, upTo 이후 변경분은 아직 커밋되지 않은 트랜잭션과 겹칠 수 있어 제외 ( ChangeFeed 참고 )
+    // 복제 지연으로 아직 복제되지 않은 변경분을 커서가 건너뛰지 않도록 원본에서 읽는다.
+    @Transactional
+    @Query("SELECT m FROM Member m LEFT JOIN FETCH m.team" +
+            " WHERE (m.updatedDate > :updatedDate OR (m.updatedDate = :updatedDate AND m.id > :id)) AND m.updatedDate <= :upTo" +
+            " ORDER BY m.updatedDate, m.id")
+    List<Member> findChangedSince(@Param("updatedDate") LocalDateTime updatedDate, @Param("id") Long id,
+                                  @Param("upTo") LocalDateTime upTo, Pageable pageable);
 
 
     @Query("SELECT m FROM Member m LEFT JOIN FETCH m.team")
@@ -86,12 +131,30 @@ public interface MemberRepository extends JpaRepository<Member,Long>, MemberRepo
 
     // 읽기 전용으로 만들어 스냅샷을 만들지 않아 성능이 최적화된다. ( 변경갑지를 안하는 경우, 변경감지에 소모되는 성능을 줄이기 위함 )
     // 그러나 굳이 이 설정을 넣는 수고를 들일정도로 효과적이지는 않다. 정말 필요한 경우에만 사용.
+    // member.replica.enabled=true 이면 바깥 트랜잭션이 없을 때 복제본에서 조회한다. ( 쓰기 트랜잭션 안에서는 원본 )
     @QueryHints(value = @QueryHint(name="org.hibernate.readOnly",value="true"))
     Member findReadOnlyByUsername(String username);
 
     //SELECT FOR UPDATE   LOCK 기능을 JPA에서 쉽게 제공하고 있다.
+    @Transactional // 잠금은 원본에서
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     List<Member> findLockByUsername(String username);
 
     <T> List<T> findProjectionByUsername(@Param("username") String username,Class<T> type);
+
+    // 비동기 조회, repositoryExecutor 스레드에서 호출마다 각자의 트랜잭션으로 실행된다.
+    // 결과 엔티티는 트랜잭션이 끝난 준영속 상태이므로 지연로딩은 사용할 수 없다.
+    @Async("repositoryExecutor")
+    @Query(name = "Member.findByUsername")
+    CompletableFuture<List<Member>> findAsyncByUsername(@Param("username") String username);
+
+    @Async("repositoryExecutor")
+    @Query("SELECT m FROM Member m WHERE m.username IN :names ")
+    CompletableFuture<List<Member>> findAsyncByNames(@Param("names") Collection<String> names);
+
+    @Async("repositoryExecutor")
+    CompletableFuture<Member> findAsyncById(Long id);
+
+    @Async("repositoryExecutor")
+    CompletableFuture<List<Member>> findAsyncByUsernameAndAgeGreaterThan(String username, int age);
 }
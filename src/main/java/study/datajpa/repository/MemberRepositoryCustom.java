@@ -1,10 +1,24 @@
 package study.datajpa.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import study.datajpa.entity.Member;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface MemberRepositoryCustom {
 
     List<Member> findMemberCustom();
+
+    int saveAllBatched(Iterable<Member> members, int batchSize);
+
+    // 트랜잭션 안에서 호출하고 try-with-resources로 반드시 닫아야 한다.
+    Stream<Member> streamAll(int fetchSize);
+
+    void forEachChunk(int chunkSize, Consumer<List<Member>> consumer);
+
+    // findByAge 와 같은 결과, 토탈 카운트는 TotalCountCache 를 거친다.
+    Page<Member> findByAgeWithCachedCount(int age, Pageable pageable);
 }
@@ -1,18 +1,132 @@
 package study.datajpa.repository;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
 import study.datajpa.entity.Member;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @RequiredArgsConstructor
 public class MemberRepositoryImpl implements MemberRepositoryCustom{
 
     private final EntityManager em;
+    private final TotalCountCache totalCountCache;
+    private final BulkPersister bulkPersister;
+
     @Override
     public List<Member> findMemberCustom() {
         return em.createQuery("SELECT m FROM Member m ")
                 .getResultList();
     }
+
+    // saveAll()은 건마다 persist 하고 트랜잭션이 끝날때까지 엔티티를 전부 1차캐시에 들고 있는다.
+    // batchSize 마다 flush + clear 해서 JDBC 배치로 보내고 메모리를 비운다.
+    @Override
+    @Transactional
+    public int saveAllBatched(Iterable<Member> members, int batchSize) {
+        return bulkPersister.persistAll(em, members, batchSize);
+    }
+
+    // getResultList()는 전체 결과를 한번에 1차캐시에 올린다.
+    // FORWARD_ONLY + readOnly 스크롤로 fetchSize 만큼씩 가져오고, 다음 행으로 넘어갈 때 이전 엔티티를 detach 한다.
+    @Override
+    public Stream<Member> streamAll(int fetchSize) {
+        Session session = em.unwrap(Session.class);
+        ScrollableResults<Member> scroll = scrollAll(session, fetchSize);
+
+        Spliterator<Member> spliterator = new Spliterators.AbstractSpliterator<Member>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            private Member previous;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Member> action) {
+                if (previous != null) {
+                    session.detach(previous);
+                    previous = null;
+                }
+                if (!scroll.next()) {
+                    return false;
+                }
+                previous = scroll.get();
+                action.accept(previous);
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(scroll::close);
+    }
+
+    // chunkSize 만큼 모아서 넘기고, 처리가 끝난 청크의 엔티티만 detach 한다. ( 호출한 쪽의 다른 엔티티는 건드리지 않는다. )
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachChunk(int chunkSize, Consumer<List<Member>> consumer) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive : " + chunkSize);
+        }
+        Session session = em.unwrap(Session.class);
+        try (ScrollableResults<Member> scroll = scrollAll(session, chunkSize)) {
+            List<Member> chunk = new ArrayList<>(chunkSize);
+            while (scroll.next()) {
+                chunk.add(scroll.get());
+                if (chunk.size() == chunkSize) {
+                    flushChunk(session, chunk, consumer);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                flushChunk(session, chunk, consumer);
+            }
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Member> findByAgeWithCachedCount(int age, Pageable pageable) {
+        String jpql = QueryUtils.applySorting("SELECT m FROM Member m LEFT JOIN m.team t", pageable.getSort(), "m");
+        TypedQuery<Member> query = em.createQuery(jpql, Member.class);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        List<Member> content = query.getResultList();
+
+        // 첫 페이지가 다 안 찼거나 마지막 페이지면 카운트 쿼리 자체를 생략한다.
+        // findByAge 처럼 age 로 거르지 않으므로 전체 회원 수 하나만 캐시한다. ( 키에 age 를 넣으면 같은 값이 나이별로 따로 쌓인다. )
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> totalCountCache.get("Member.count",
+                        () -> em.createQuery("SELECT COUNT(m) FROM Member m", Long.class).getSingleResult()));
+    }
+
+    private ScrollableResults<Member> scrollAll(Session session, int fetchSize) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("fetchSize must be positive : " + fetchSize);
+        }
+        return session.createQuery("SELECT m FROM Member m ORDER BY m.id", Member.class)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true) // 스냅샷을 만들지 않는다.
+                .setCacheMode(CacheMode.IGNORE)
+                .scroll(ScrollMode.FORWARD_ONLY);
+    }
+
+    private void flushChunk(Session session, List<Member> chunk, Consumer<List<Member>> consumer) {
+        consumer.accept(new ArrayList<>(chunk));
+        for (Member member : chunk) {
+            session.detach(member);
+        }
+        chunk.clear();
+    }
 }
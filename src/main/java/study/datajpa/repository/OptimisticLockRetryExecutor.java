@@ -0,0 +1,71 @@
+package study.datajpa.repository;
+
+import jakarta.persistence.OptimisticLockException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// findLockByUsername(SELECT FOR UPDATE) 대신 @Version 낙관적 락을 사용할 때의 재시도 실행기
+// 충돌하면 새 트랜잭션으로 work 를 처음부터 다시 실행한다. ( 조회부터 다시 해야 최신 version 을 읽는다. )
+// 대기시간은 지수 백오프 + 지터, 동시에 실패한 트랜잭션들이 같은 시점에 다시 충돌하지 않도록 한다.
+@Component
+public class OptimisticLockRetryExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    public OptimisticLockRetryExecutor(PlatformTransactionManager transactionManager,
+                                       @Value("${member.optimistic-retry.max-attempts:5}") int maxAttempts,
+                                       @Value("${member.optimistic-retry.initial-backoff-millis:5}") long initialBackoffMillis,
+                                       @Value("${member.optimistic-retry.max-backoff-millis:200}") long maxBackoffMillis) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    public <T> T execute(Supplier<T> work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> work.get());
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                sleep(backoffMillis(attempt));
+            }
+        }
+    }
+
+    public void executeWithoutResult(Runnable work) {
+        execute(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    // initial * 2^(attempt-1) 의 절반 + 0 ~ 절반 사이의 난수 ( equal jitter )
+    long backoffMillis(int attempt) {
+        long exponential = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+        long half = exponential / 2;
+        return half + ThreadLocalRandom.current().nextLong(exponential - half + 1);
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting to retry", e);
+        }
+    }
+}
@@ -1,8 +1,20 @@
 package study.datajpa.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import study.datajpa.entity.Team;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 public interface TeamRepository extends JpaRepository<Team,Long> {
 
+    // 변경 피드 : (updatedDate, id) 키셋 ( ChangeFeed 참고 )
+    @Query("SELECT t FROM Team t" +
+            " WHERE (t.updatedDate > :updatedDate OR (t.updatedDate = :updatedDate AND t.id > :id)) AND t.updatedDate <= :upTo" +
+            " ORDER BY t.updatedDate, t.id")
+    List<Team> findChangedSince(@Param("updatedDate") LocalDateTime updatedDate, @Param("id") Long id,
+                                @Param("upTo") LocalDateTime upTo, Pageable pageable);
 }
@@ -0,0 +1,239 @@
+package study.datajpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.config.EntityChangeCollector;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.entity.TeamStats;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import static study.datajpa.config.EntityChangeCollector.statePosition;
+import static study.datajpa.config.EntityChangeCollector.teamId;
+
+// Member 저장/수정(changeTeam, 나이)/삭제를 team_stats 에 바로 반영한다.
+// 하이버네이트 이벤트로 변경 전/후 값을 세션별로 모아두고 커밋 직전에 같은 트랜잭션에서 (팀, 나이대) 순서로 UPDATE 한다. ( 락 순서 고정 )
+// 팀이 생길 때 나이대 행을 미리 만들어두므로 갱신은 UPDATE 만 한다. ( 동시에 첫 행을 INSERT 하다 충돌하지 않도록 )
+// JPQL/네이티브 벌크 수정은 이벤트가 없으므로 rebuild() 로 다시 계산한다.
+// ( Member 리포지토리 @Modifying 메소드는 CountCacheConfig, MemberJpaRepository.bulkAgePlus, MemberBulkUpdater 가 호출 )
+@Slf4j
+@Component
+public class TeamStatsMaintainer implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::teamId).thenComparing(Key::ageBucket);
+
+    @PersistenceContext
+    private EntityManager em;
+
+    private final EntityChangeCollector<Pending> pending = new EntityChangeCollector<>(Pending::new, this::apply);
+
+    public TeamStatsMaintainer(EntityManagerFactory emf) {
+        EventListenerRegistry registry = emf.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Member member) {
+            pending.changes(event.getSession()).add(teamId(member.getTeam()), member.getAge(), 1);
+        } else if (event.getEntity() instanceof Team) {
+            pending.changes(event.getSession()).newTeams.add((Long) event.getId());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (!(event.getEntity() instanceof Member)) {
+            return;
+        }
+        Object[] oldState = event.getOldState();
+        if (oldState == null) { // 스냅샷 없이 수정된 경우 ( 준영속 엔티티 update 등 )
+            log.warn("team_stats cannot apply update of member {} without its previous state, run rebuild()", event.getId());
+            return;
+        }
+        int team = statePosition(event.getPersister(), "team");
+        int age = statePosition(event.getPersister(), "age");
+        Long oldTeamId = teamId(oldState[team]);
+        Long newTeamId = teamId(event.getState()[team]);
+        int oldAge = (Integer) oldState[age];
+        int newAge = (Integer) event.getState()[age];
+        if (Objects.equals(oldTeamId, newTeamId) && oldAge == newAge) {
+            return;
+        }
+        Pending stats = pending.changes(event.getSession());
+        stats.add(oldTeamId, oldAge, -1);
+        stats.add(newTeamId, newAge, 1);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Member) {
+            Object[] state = event.getDeletedState();
+            pending.changes(event.getSession()).add(teamId(state[statePosition(event.getPersister(), "team")]),
+                    (Integer) state[statePosition(event.getPersister(), "age")], -1);
+        } else if (event.getEntity() instanceof Team) {
+            pending.changes(event.getSession()).removedTeams.add((Long) event.getId());
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    // Member 전체를 다시 집계한다. O(회원 수), 벌크 수정 후에 호출
+    // 행을 지우지 않고 미리 만들어둔 행을 UPDATE 한다. 먼저 모든 행을 (팀, 나이대) 순서로 잠그고 집계하므로
+    // 동시에 커밋하려는 증분 갱신(apply)은 이 트랜잭션이 끝날 때까지 기다렸다가 다시 계산된 값 위에 더한다.
+    @Transactional
+    public void rebuild() {
+        em.flush();
+        em.unwrap(Session.class).doWork(connection -> {
+            insertBuckets(connection, teamsWithoutStats(connection)); // 기능 추가 전에 만들어진 팀
+            List<Key> keys = new ArrayList<>();
+            Map<Key, long[]> totals = new TreeMap<>(KEY_ORDER);
+            try (Statement statement = connection.createStatement()) {
+                try (ResultSet rs = statement.executeQuery(
+                        "SELECT team_id, age_bucket FROM team_stats ORDER BY team_id, age_bucket FOR UPDATE")) {
+                    while (rs.next()) {
+                        keys.add(new Key(rs.getLong(1), rs.getInt(2)));
+                    }
+                }
+                try (ResultSet rs = statement.executeQuery(
+                        "SELECT team_id, age, COUNT(*), SUM(age) FROM member WHERE team_id IS NOT NULL GROUP BY team_id, age")) {
+                    while (rs.next()) {
+                        long[] total = totals.computeIfAbsent(new Key(rs.getLong(1), TeamStats.ageBucket(rs.getInt(2))), k -> new long[2]);
+                        total[0] += rs.getLong(3);
+                        total[1] += rs.getLong(4);
+                    }
+                }
+            }
+            try (PreparedStatement update = connection.prepareStatement(
+                    "UPDATE team_stats SET member_count = ?, age_sum = ? WHERE team_id = ? AND age_bucket = ?")) {
+                for (Key key : keys) {
+                    long[] total = totals.getOrDefault(key, new long[2]);
+                    update.setLong(1, total[0]);
+                    update.setLong(2, total[1]);
+                    update.setLong(3, key.teamId());
+                    update.setInt(4, key.ageBucket());
+                    update.addBatch();
+                }
+                update.executeBatch();
+            }
+        });
+    }
+
+    private List<Long> teamsWithoutStats(Connection connection) throws SQLException {
+        List<Long> teamIds = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "SELECT t.team_id FROM team t WHERE NOT EXISTS (SELECT 1 FROM team_stats s WHERE s.team_id = t.team_id)")) {
+            while (rs.next()) {
+                teamIds.add(rs.getLong(1));
+            }
+        }
+        return teamIds;
+    }
+
+    private void apply(SessionImplementor session, Pending stats) {
+        if (stats.isEmpty()) {
+            return;
+        }
+        session.doWork(connection -> {
+            insertBuckets(connection, stats.newTeams);
+            try (PreparedStatement update = connection.prepareStatement(
+                    "UPDATE team_stats SET member_count = member_count + ?, age_sum = age_sum + ? WHERE team_id = ? AND age_bucket = ?")) {
+                List<Key> keys = new ArrayList<>();
+                for (Map.Entry<Key, long[]> delta : stats.deltas.entrySet()) {
+                    if (delta.getValue()[0] == 0 && delta.getValue()[1] == 0) {
+                        continue;
+                    }
+                    update.setLong(1, delta.getValue()[0]);
+                    update.setLong(2, delta.getValue()[1]);
+                    update.setLong(3, delta.getKey().teamId());
+                    update.setInt(4, delta.getKey().ageBucket());
+                    update.addBatch();
+                    keys.add(delta.getKey());
+                }
+                int[] updated = update.executeBatch();
+                for (int i = 0; i < updated.length; i++) {
+                    if (updated[i] == 0) { // 기능 추가 전에 만들어진 팀
+                        log.warn("team_stats row missing for team {} age bucket {}, run rebuild()", keys.get(i).teamId(), keys.get(i).ageBucket());
+                    }
+                }
+            }
+            if (!stats.removedTeams.isEmpty()) {
+                try (PreparedStatement delete = connection.prepareStatement("DELETE FROM team_stats WHERE team_id = ?")) {
+                    for (Long teamId : stats.removedTeams) {
+                        delete.setLong(1, teamId);
+                        delete.addBatch();
+                    }
+                    delete.executeBatch();
+                }
+            }
+        });
+    }
+
+    private void insertBuckets(Connection connection, List<Long> teamIds) throws SQLException {
+        if (teamIds.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO team_stats (team_id, age_bucket, member_count, age_sum) VALUES (?, ?, 0, 0)")) {
+            for (Long teamId : teamIds) {
+                for (int bucket = 0; bucket < TeamStats.AGE_BUCKETS; bucket++) {
+                    insert.setLong(1, teamId);
+                    insert.setInt(2, bucket);
+                    insert.addBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private record Key(long teamId, int ageBucket) {
+    }
+
+    // 세션(트랜잭션) 하나의 변경분, 세션은 한 스레드에서만 사용된다.
+    private static class Pending {
+        private final List<Long> newTeams = new ArrayList<>();
+        private final List<Long> removedTeams = new ArrayList<>();
+        private final Map<Key, long[]> deltas = new TreeMap<>(KEY_ORDER); // [회원 수, 나이 합계]
+
+        private void add(Long teamId, int age, int count) {
+            if (teamId == null) {
+                return;
+            }
+            long[] delta = deltas.computeIfAbsent(new Key(teamId, TeamStats.ageBucket(age)), k -> new long[2]);
+            delta[0] += count;
+            delta[1] += (long) age * count;
+        }
+
+        private boolean isEmpty() {
+            return newTeams.isEmpty() && removedTeams.isEmpty() && deltas.isEmpty();
+        }
+    }
+}
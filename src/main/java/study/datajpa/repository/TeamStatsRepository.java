@@ -0,0 +1,26 @@
+package study.datajpa.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import study.datajpa.dto.TeamStatsDto;
+import study.datajpa.entity.TeamStats;
+
+import java.util.List;
+import java.util.Optional;
+
+// 팀 수 * 나이대 수 만큼만 읽는다. ( Member 테이블, Team.members 를 읽지 않는다. )
+public interface TeamStatsRepository extends JpaRepository<TeamStats, TeamStats.Key> {
+
+    @Query("SELECT new study.datajpa.dto.TeamStatsDto(t.id, t.name, SUM(s.memberCount), SUM(s.ageSum))" +
+            " FROM TeamStats s JOIN Team t ON t.id = s.teamId GROUP BY t.id, t.name ORDER BY t.id")
+    List<TeamStatsDto> findTeamSummaries();
+
+    // 팀은 PK, team_stats 는 idx_team_stats_team 으로 찾는다.
+    @Query("SELECT new study.datajpa.dto.TeamStatsDto(t.id, t.name, SUM(s.memberCount), SUM(s.ageSum))" +
+            " FROM Team t JOIN TeamStats s ON s.teamId = t.id WHERE t.id = :teamId GROUP BY t.id, t.name")
+    Optional<TeamStatsDto> findTeamSummary(@Param("teamId") Long teamId);
+
+    // 나이 분포
+    List<TeamStats> findByTeamIdOrderByAgeBucket(Long teamId);
+}
@@ -0,0 +1,153 @@
+package study.datajpa.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.datajpa.entity.Member;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import static study.datajpa.config.EntityChangeCollector.statePosition;
+
+// 페이징 토탈 카운트를 필터(key)별로 짧은 시간 동안 캐시한다.
+// 페이지를 넘길 때마다 같은 COUNT 쿼리를 반복하지 않기 위함, TTL 동안은 토탈이 약간 틀릴 수 있다.
+// Member 저장/삭제/나이 변경이 커밋되면 전체를 비운다. ( 엔티티 이벤트는 직접 받고, 벌크 수정은 invalidateAfterCommit() 호출 )
+// 만료된 항목은 TTL 마다 한번씩 정리한다. ( 키가 필터 값마다 생기므로 계속 쌓이지 않도록 )
+@Component
+public class TotalCountCache implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+    private volatile long nextEvictionAt;
+
+    public TotalCountCache(@Value("${member.count-cache.enabled:false}") boolean enabled,
+                           @Value("${member.count-cache.ttl-millis:5000}") long ttlMillis,
+                           EntityManagerFactory emf) {
+        this.enabled = enabled;
+        this.ttlMillis = ttlMillis;
+        if (enabled) {
+            EventListenerRegistry registry = emf.unwrap(SessionFactoryImplementor.class)
+                    .getServiceRegistry().getService(EventListenerRegistry.class);
+            registry.appendListeners(EventType.POST_INSERT, this);
+            registry.appendListeners(EventType.POST_UPDATE, this);
+            registry.appendListeners(EventType.POST_DELETE, this);
+        }
+    }
+
+    public long get(String key, LongSupplier loader) {
+        if (!enabled) {
+            return loader.getAsLong();
+        }
+        long now = System.currentTimeMillis();
+        Entry entry = cache.get(key);
+        if (entry != null && entry.expiresAt > now) {
+            return entry.total;
+        }
+        long total = loader.getAsLong();
+        evictExpired(now);
+        cache.put(key, new Entry(total, now + ttlMillis));
+        return total;
+    }
+
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    // 트랜잭션 안이면 커밋된 뒤에 비운다. ( 커밋 전에 비우면 다른 요청이 변경 전 카운트를 다시 캐시할 수 있다. )
+    // 트랜잭션마다 한번만 등록한다.
+    public void invalidateAfterCommit() {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidateAll();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void suspend() {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TotalCountCache.this);
+            }
+
+            @Override
+            public void resume() {
+                TransactionSynchronizationManager.bindResource(TotalCountCache.this, Boolean.TRUE);
+            }
+
+            @Override
+            public void afterCommit() {
+                invalidateAll();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TotalCountCache.this);
+            }
+        });
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Member) {
+            invalidateAfterCommit();
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Member && ageChanged(event)) {
+            invalidateAfterCommit();
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Member) {
+            invalidateAfterCommit();
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    // 스냅샷이 없으면 ( 준영속 엔티티 update 등 ) 바뀐 것으로 본다.
+    private static boolean ageChanged(PostUpdateEvent event) {
+        int[] dirty = event.getDirtyProperties();
+        if (dirty == null) {
+            return true;
+        }
+        int age = statePosition(event.getPersister(), "age");
+        for (int property : dirty) {
+            if (property == age) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void evictExpired(long now) {
+        if (now < nextEvictionAt) {
+            return;
+        }
+        nextEvictionAt = now + ttlMillis;
+        cache.values().removeIf(entry -> entry.expiresAt <= now);
+    }
+
+    private record Entry(long total, long expiresAt) {
+    }
+}
@@ -0,0 +1,45 @@
+package study.datajpa.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.dto.QueryCacheStatsDto;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+// 별도 컨텍스트가 공유 DB 스키마를 다시 만들지 않도록 메모리 H2
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:querycache;DB_CLOSE_DELAY=-1",
+        "member.query-cache.enabled=true"
+})
+class QueryCacheTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired SecondLevelCacheStats secondLevelCacheStats;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    @Test
+    public void bulkUpdateInvalidatesQueryCache(){
+        //given
+        memberRepository.save(new Member("queryCache", 30));
+        secondLevelCacheStats.clear();
+
+        //when
+        memberRepository.findByUsername("queryCache"); // miss -> put
+        memberRepository.findByUsername("queryCache"); // hit
+        QueryCacheStatsDto beforeUpdate = secondLevelCacheStats.queryCache();
+
+        transactionTemplate.executeWithoutResult(status -> memberRepository.bulkAgePlus(30));
+        List<Member> result = memberRepository.findByUsername("queryCache"); // 벌크 연산으로 무효화 -> miss
+
+        //then
+        assertThat(beforeUpdate.getHitCount()).isEqualTo(1);
+        assertThat(secondLevelCacheStats.queryCache().getMissCount()).isEqualTo(2);
+        assertThat(result.get(0).getAge()).isEqualTo(31);
+    }
+}
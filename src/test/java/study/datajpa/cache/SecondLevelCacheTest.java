@@ -0,0 +1,48 @@
+package study.datajpa.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.datajpa.dto.CacheRegionStatsDto;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+
+import static org.assertj.core.api.Assertions.*;
+
+// 트랜잭션을 걸지 않는다. ( 커밋이 되어야 2차 캐시에 들어간다. )
+@SpringBootTest
+class SecondLevelCacheTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired TeamRepository teamRepository;
+    @Autowired EntityManagerFactory emf;
+    @Autowired SecondLevelCacheStats secondLevelCacheStats;
+
+    @Test
+    public void findByIdHitsSecondLevelCache(){
+        //given
+        Team team = teamRepository.save(new Team("cacheTeam"));
+        Member member = memberRepository.save(new Member("cacheMember", 10, team));
+        emf.getCache().evictAll();
+        secondLevelCacheStats.clear();
+
+        //when
+        memberRepository.findById(member.getId()); // miss -> put
+        memberRepository.findById(member.getId()); // hit
+
+        //then
+        CacheRegionStatsDto stats = region("study.datajpa.entity.Member");
+        assertThat(stats.getMissCount()).isEqualTo(1);
+        assertThat(stats.getHitCount()).isEqualTo(1);
+    }
+
+    private CacheRegionStatsDto region(String name) {
+        return secondLevelCacheStats.regions().stream()
+                .filter(r -> r.getRegion().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+}
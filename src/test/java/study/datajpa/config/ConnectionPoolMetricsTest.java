@@ -0,0 +1,33 @@
+package study.datajpa.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.datajpa.repository.MemberRepository;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+class ConnectionPoolMetricsTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired MeterRegistry meterRegistry;
+
+    @Test
+    public void exposesPoolAcquireAndUsage(){
+        //given
+        Timer acquire = meterRegistry.get("hikaricp.connections.acquire").timer();
+        long before = acquire.count();
+
+        //when
+        memberRepository.count();
+
+        //then
+        assertThat(acquire.count()).isGreaterThan(before);
+        assertThat(meterRegistry.get("hikaricp.connections.active").gauge()).isNotNull();
+        assertThat(meterRegistry.get("hikaricp.connections.idle").gauge()).isNotNull();
+        assertThat(meterRegistry.get("hikaricp.connections.timeout").counter().count()).isEqualTo(0);
+    }
+}
@@ -0,0 +1,33 @@
+package study.datajpa.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.datajpa.config.QueryPlanChecker.QueryPlan;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+class QueryPlanCheckerTest {
+
+    @Autowired QueryPlanChecker queryPlanChecker;
+
+    @Test
+    public void filteredQueriesUseIndexes(){
+        //when
+        List<QueryPlan> plans = queryPlanChecker.check();
+
+        //then
+        assertThat(plans).extracting(QueryPlan::source)
+                .contains("MemberRepository.findByUsername", "MemberRepository.findUser", "MemberRepository.findByNames");
+        assertThat(plans).filteredOn(QueryPlan::unexpectedFullScan).isEmpty();
+        assertThat(plan(plans, "MemberRepository.findUser").plan()).containsIgnoringCase("idx_member_username_age");
+        assertThat(plan(plans, "MemberRepository.findByNames").plan()).containsIgnoringCase("idx_member_username_age");
+    }
+
+    private QueryPlan plan(List<QueryPlan> plans, String source) {
+        return plans.stream().filter(p -> p.source().equals(source)).findFirst().orElseThrow();
+    }
+}
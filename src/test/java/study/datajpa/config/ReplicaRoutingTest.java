@@ -0,0 +1,63 @@
+package study.datajpa.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+// 원본/복제본 모두 메모리 H2, 복제와 지연 측정은 테스트에서 직접 호출한다.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+        "member.replica.enabled=true",
+        "member.replica.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "member.replica.max-lag-millis=300",
+        "member.replica.check-interval-millis=3600000",
+        "member.replica.local-sync.enabled=true",
+        "member.replica.local-sync.interval-millis=3600000"
+})
+class ReplicaRoutingTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired ReplicaLagMonitor replicaLagMonitor;
+    @Autowired LocalH2Replicator localH2Replicator;
+
+    @Test
+    public void readOnlyQueriesGoToReplicaUntilItLags() throws Exception {
+        //given
+        replicaLagMonitor.check();
+        localH2Replicator.replicate();
+        replicaLagMonitor.check();
+        assertThat(replicaLagMonitor.isReplicaUsable()).isTrue();
+
+        //when 쓰기는 원본
+        memberRepository.save(new Member("replicaMember", 10));
+
+        //then 복제 전에는 복제본에서 보이지 않는다.
+        assertThat(memberRepository.findReadOnlyByUsername("replicaMember")).isNull();
+        assertThat(keysetPageUsernames()).doesNotContain("replicaMember"); // /members/keyset
+        localH2Replicator.replicate();
+        assertThat(memberRepository.findReadOnlyByUsername("replicaMember")).isNotNull();
+        assertThat(keysetPageUsernames()).contains("replicaMember");
+
+        //when 복제가 멈춰서 지연이 허용치를 넘으면
+        memberRepository.save(new Member("laggingMember", 10));
+        Thread.sleep(500);
+        replicaLagMonitor.check();
+
+        //then 원본에서 읽는다.
+        assertThat(replicaLagMonitor.isReplicaUsable()).isFalse();
+        assertThat(memberRepository.findReadOnlyByUsername("laggingMember")).isNotNull();
+    }
+
+    private List<String> keysetPageUsernames() {
+        return memberRepository.findKeysetPage(0L, PageRequest.of(0, 1000)).stream()
+                .map(Member::getUsername)
+                .toList();
+    }
+}
@@ -0,0 +1,64 @@
+package study.datajpa.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+import static org.assertj.core.api.Assertions.*;
+
+// 레지스트리는 컨텍스트를 같이 쓰는 다른 테스트와 공유되므로 호출 전후 차이로 확인한다.
+@SpringBootTest
+class RepositoryMetricsTest {
+
+    private static final String METHOD = "findByUsernameAndAgeGreaterThan";
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired MeterRegistry meterRegistry;
+
+    @Test
+    public void recordsPerMethodMetrics(){
+        //given
+        long invocations = invocations();
+        double rows = summary("repository.rows", METHOD);
+        double statements = summary("repository.statements", METHOD);
+        double flushes = saveFlushes();
+
+        memberRepository.save(new Member("metrics", 10));
+
+        //when
+        memberRepository.findByUsernameAndAgeGreaterThan("metrics", 0);
+
+        //then
+        assertThat(invocations() - invocations).isEqualTo(1);
+        assertThat(summary("repository.rows", METHOD) - rows).isGreaterThanOrEqualTo(1);
+        assertThat(summary("repository.statements", METHOD) - statements).isEqualTo(1);
+        assertThat(saveFlushes() - flushes).isEqualTo(1); // 커밋 시점 flush
+    }
+
+    private long invocations() {
+        Timer timer = meterRegistry.find("repository.invocations")
+                .tags("repository", "MemberRepository", "method", METHOD, "outcome", "success")
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double summary(String name, String method) {
+        DistributionSummary summary = meterRegistry.find(name)
+                .tags("repository", "MemberRepository", "method", method)
+                .summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+
+    private double saveFlushes() {
+        Counter counter = meterRegistry.find("repository.flushes")
+                .tags("repository", "MemberRepository", "method", "save")
+                .counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
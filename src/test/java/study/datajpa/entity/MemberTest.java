@@ -10,8 +10,10 @@ import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
 import study.datajpa.repository.MemberRepository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
@@ -80,4 +82,59 @@ class MemberTest {
         System.out.println("findMember.getLastModifiedBy() = " + findMember.getLastModifiedBy());
     }
 
-}
\ No newline at end of file
+
+    @Test
+    public void auditorResolvedOncePerTransaction(){
+        //given
+        Member member1 = new Member("audit1");
+        Member member2 = new Member("audit2");
+
+        //when
+        memberRepository.save(member1); //@PrePersist
+        memberRepository.save(member2);
+
+        //then 같은 트랜잭션이면 생성자, 생성시간이 같다.
+        assertThat(member1.getCreatedBy()).isNotNull().isEqualTo(member2.getCreatedBy());
+        assertThat(member1.getCreatedDate()).isNotNull().isEqualTo(member2.getCreatedDate());
+    }
+
+    @Test
+    public void bulkInsertStampsAuditFields(){
+        //given
+        List<Member> members = List.of(new Member("bulkAudit1"), new Member("bulkAudit2"));
+
+        //when
+        memberRepository.saveAllBatched(members, 10); // 리스너를 건너뛰고 직접 값을 넣는다.
+        Member findMember = memberRepository.findById(members.get(0).getId()).get();
+
+        //then
+        assertThat(findMember.getCreatedBy()).isNotNull();
+        assertThat(findMember.getCreatedDate()).isNotNull();
+        assertThat(findMember.getUpdatedDate()).isEqualTo(findMember.getCreatedDate());
+    }
+
+    @Test
+    public void bulkInsertKeepsAuditingOfOtherDirtyEntities(){
+        //given 이미 저장된 회원의 수정 정보를 과거 값으로 돌려놓는다.
+        Member member = new Member("dirtyAudit");
+        memberRepository.save(member);
+        em.flush();
+        LocalDateTime old = LocalDateTime.of(2000, 1, 1, 0, 0);
+        em.createNativeQuery("update member set updated_date = ?, last_modified_by = 'old' where member_id = ?")
+                .setParameter(1, old)
+                .setParameter(2, member.getId())
+                .executeUpdate();
+        em.refresh(member);
+
+        //when 대량 저장의 flush 에 수정된 회원이 같이 나간다.
+        member.setUsername("dirtyAudit2");
+        memberRepository.saveAllBatched(List.of(new Member("dirtyAuditBulk")), 10);
+        Member findMember = memberRepository.findById(member.getId()).get();
+
+        //then @PreUpdate 가 실행되어 수정 정보가 갱신된다.
+        assertThat(findMember.getUsername()).isEqualTo("dirtyAudit2");
+        assertThat(findMember.getUpdatedDate()).isAfter(old);
+        assertThat(findMember.getLastModifiedBy()).isNotEqualTo("old");
+    }
+
+}
@@ -0,0 +1,81 @@
+package study.datajpa.outbox;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+// 다른 테스트 컨텍스트의 릴레이가 이벤트를 가져가지 않도록 별도 메모리 DB, 릴레이는 테스트에서 직접 호출한다.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox;DB_CLOSE_DELAY=-1",
+        "member.outbox.relay.enabled=true",
+        "member.outbox.relay.poll-interval-millis=3600000",
+        "member.outbox.in-memory.enabled=true"
+})
+class OutboxTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired TeamRepository teamRepository;
+    @Autowired OutboxRelay outboxRelay;
+    @Autowired InMemoryOutboxPublisher publisher;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void writesEventsWithTheChangeAndRelaysInOrder(){
+        //given
+        Team teamA = teamRepository.save(new Team("outboxA"));
+        Team teamB = teamRepository.save(new Team("outboxB"));
+        Member saved = memberRepository.save(new Member("outboxMember", 20, teamA));
+        transactionTemplate.executeWithoutResult(status -> {
+            Member member = memberRepository.findById(saved.getId()).get();
+            member.changeTeam(teamRepository.findById(teamB.getId()).get()); // save 없이 변경감지
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            memberRepository.save(new Member("outboxRolledBack", 20));
+            status.setRollbackOnly();
+        });
+
+        //when
+        outboxRelay.drain();
+
+        //then
+        List<OutboxMessage> memberEvents = publisher.messages().stream()
+                .filter(m -> m.aggregateType().equals("Member") && m.aggregateId() == saved.getId())
+                .toList();
+        assertThat(memberEvents).extracting(OutboxMessage::eventType)
+                .containsExactly(OutboxWriter.MEMBER_CREATED, OutboxWriter.MEMBER_TEAM_CHANGED);
+        assertThat(memberEvents).extracting(OutboxMessage::aggregateVersion).isSorted();
+        assertThat(memberEvents.get(1).payload()).contains("\"previousTeamId\":" + teamA.getId());
+        assertThat(publisher.messages()).filteredOn(m -> m.aggregateType().equals("Team"))
+                .extracting(OutboxMessage::aggregateId).contains(teamA.getId(), teamB.getId());
+        assertThat(publisher.messages()).noneMatch(m -> m.payload().contains("outboxRolledBack")); // 롤백되면 이벤트도 없다.
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_event", Long.class)).isZero(); // 발행 후 삭제
+    }
+
+    @Test
+    public void relayRequiresExplicitPublisher(){
+        ApplicationContextRunner runner = new ApplicationContextRunner()
+                .withUserConfiguration(OutboxConfig.class)
+                .withBean(JdbcTemplate.class, () -> mock(JdbcTemplate.class))
+                .withBean(PlatformTransactionManager.class, () -> mock(PlatformTransactionManager.class));
+
+        // 기본값은 릴레이도, 메모리 발행 대상도 없다.
+        runner.run(context -> assertThat(context).doesNotHaveBean(OutboxRelay.class).doesNotHaveBean(OutboxPublisher.class));
+        // 릴레이만 켜고 발행 대상이 없으면 시작 실패 ( 삭제만 하고 이벤트를 잃지 않도록 )
+        runner.withPropertyValues("member.outbox.relay.enabled=true")
+                .run(context -> assertThat(context).hasFailed());
+    }
+}
@@ -0,0 +1,63 @@
+package study.datajpa.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+// 변경분이 커밋되어야 피드에 나오므로 테스트에 트랜잭션을 걸지 않는다.
+// 커밋된 데이터가 다른 테스트에 남지 않고, 다른 테스트의 변경분이 피드에 섞이지 않도록 메모리 H2
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:changefeed;DB_CLOSE_DELAY=-1",
+        "member.seed.enabled=false"
+})
+class ChangeFeedTest {
+
+    @Autowired ChangeFeed changeFeed;
+    @Autowired MemberRepository memberRepository;
+    @Autowired TeamRepository teamRepository;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    @Test
+    public void drainsChangesInBatchesIncludingBulkUpdates(){
+        //given
+        ChangeCursor start = ChangeCursor.at(LocalDateTime.now());
+        Team team = teamRepository.save(new Team("feedTeam"));
+        for (int i = 0; i < 5; i++) {
+            memberRepository.save(new Member("feed" + i, 10, team));
+        }
+        memberRepository.save(new Member("feedBulk", 300, team));
+
+        //when
+        List<List<Member>> batches = new ArrayList<>();
+        ChangeCursor cursor = changeFeed.drainMembers(start, LocalDateTime.now(), 2, (changes, next) -> batches.add(changes));
+
+        //then
+        assertThat(batches).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(2));
+        assertThat(batches.stream().flatMap(List::stream).map(Member::getUsername))
+                .contains("feed0", "feed1", "feed2", "feed3", "feed4", "feedBulk")
+                .doesNotHaveDuplicates();
+
+        //when 리스너를 거치지 않는 벌크 수정
+        transactionTemplate.executeWithoutResult(status -> memberRepository.bulkAgePlus(300));
+        List<Member> afterBulk = new ArrayList<>();
+        changeFeed.drainMembers(cursor, LocalDateTime.now(), 100, (changes, next) -> afterBulk.addAll(changes));
+
+        //then
+        assertThat(afterBulk).extracting(Member::getUsername).contains("feedBulk").doesNotContain("feed0");
+        assertThat(afterBulk).filteredOn(m -> m.getUsername().equals("feedBulk"))
+                .extracting(Member::getAge).containsExactly(301);
+
+        List<Team> teams = new ArrayList<>();
+        changeFeed.drainTeams(start, LocalDateTime.now(), 10, (changes, next) -> teams.addAll(changes));
+        assertThat(teams).extracting(Team::getName).contains("feedTeam");
+    }
+}
@@ -1,15 +1,29 @@
 package study.datajpa.repository;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.config.QueryCountGuard;
 import study.datajpa.entity.Item;
+import study.datajpa.entity.id.SnowflakeIds;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
 
 @SpringBootTest
 public class ItemRepositoryTest {
 
     @Autowired
     ItemRepository itemRepository;
+    @Autowired
+    QueryCountGuard queryCountGuard;
+    @PersistenceContext
+    EntityManager em;
 
     @Test
     public void save(){
@@ -17,4 +31,57 @@ public class ItemRepositoryTest {
         itemRepository.save(item);
     }
 
+    @Test
+    @Transactional
+    public void compactTimeOrderedIds(){
+        //given
+        Item first = new Item("first");
+        Item second = new Item("second");
+
+        //when
+        itemRepository.save(first);
+        itemRepository.save(second);
+        em.flush();
+        em.clear();
+
+        //then DB 호출 없이 생성, 나중에 저장한 엔티티의 식별자가 더 크다.
+        assertThat(second.getId()).isGreaterThan(first.getId());
+        assertThat(SnowflakeIds.timestampOf(first.getId())).isCloseTo(System.currentTimeMillis(), within(60_000L));
+        assertThat(itemRepository.findById(first.getId()).get().getName()).isEqualTo("first");
+    }
+
+    @Test
+    @Transactional
+    public void saveNewItemWithoutSelect(){
+        //given
+        Item item = new Item("save");
+        assertThat(item.isNew()).isTrue();
+
+        //when
+        itemRepository.save(item); // persist ( merge 아님 )
+        em.flush();
+
+        //then
+        assertThat(item.isNew()).isFalse(); //@PostPersist
+        assertThat(queryCountGuard.currentTransactionCount()).isEqualTo(0);
+    }
+
+    @Test
+    @Transactional
+    public void bulkImportIssuesNoSelect(){
+        //given
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            items.add(new Item("bulk-" + i));
+        }
+
+        //when
+        int inserted = itemRepository.insertAll(items, 100);
+
+        //then
+        assertThat(inserted).isEqualTo(250);
+        assertThat(queryCountGuard.currentTransactionCount()).isEqualTo(0); // INSERT 전 SELECT 없음
+        assertThat(itemRepository.count()).isGreaterThanOrEqualTo(250);
+        assertThat(items).extracting(Item::getCreatedDate).doesNotContainNull().containsOnly(items.get(0).getCreatedDate()); // 한번만 구한 시간
+    }
 }
@@ -0,0 +1,101 @@
+package study.datajpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+// 비동기 조회는 다른 스레드, 다른 트랜잭션에서 실행되므로 테스트에 트랜잭션을 걸지 않는다. ( 커밋된 데이터만 보인다. )
+@SpringBootTest
+class MemberAsyncTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired MemberFanOut memberFanOut;
+    @Autowired MemberBulkLookup memberBulkLookup;
+    @Autowired TransactionTemplate transactionTemplate;
+    @PersistenceContext EntityManager em;
+
+    @Test
+    public void findAsync(){
+        //given
+        Member member = memberRepository.save(new Member("async1", 10));
+
+        //when
+        Member findMember = memberRepository.findAsyncById(member.getId()).join();
+        List<Member> byUsername = memberRepository.findAsyncByUsername("async1").join();
+
+        //then
+        assertThat(findMember.getUsername()).isEqualTo("async1");
+        assertThat(byUsername).extracting(Member::getUsername).containsOnly("async1");
+    }
+
+    @Test
+    public void fanOut(){
+        //given
+        memberRepository.save(new Member("fanOut1", 10));
+        memberRepository.save(new Member("fanOut2", 20));
+
+        //when
+        Map<String, List<Member>> byUsername = memberFanOut.findByUsernames(List.of("fanOut1", "fanOut2", "none")).join();
+        List<Member> merged = memberFanOut.findByNameGroups(List.of(List.of("fanOut1"), List.of("fanOut1", "fanOut2"))).join();
+
+        //then
+        assertThat(byUsername.get("fanOut1")).hasSize(1);
+        assertThat(byUsername.get("none")).isEmpty();
+        assertThat(merged).extracting(Member::getUsername).containsExactlyInAnyOrder("fanOut1", "fanOut2");
+    }
+
+    @Test
+    public void bulkLookup(){
+        //given
+        memberRepository.save(new Member("bulk0", 10));
+        memberRepository.save(new Member("bulk999", 10));
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            names.add("bulk" + i);
+        }
+
+        //when
+        Map<String, List<Member>> result = memberBulkLookup.findByUsernames(names); // 512 + 488(->512) 두 청크를 동시에 조회
+
+        //then
+        assertThat(result).hasSize(1000);
+        assertThat(result.get("bulk0")).hasSize(1);
+        assertThat(result.get("bulk999")).hasSize(1);
+        assertThat(result.get("bulk500")).isEmpty();
+    }
+
+    @Test
+    public void bulkLookupAlwaysReturnsDetachedMembers(){
+        //given
+        memberRepository.save(new Member("bulkDetached", 10));
+
+        //when 청크 하나, 호출한 쪽 트랜잭션 안
+        List<Member> found = transactionTemplate.execute(status -> {
+            List<Member> members = memberBulkLookup.findByUsernames(List.of("bulkDetached")).get("bulkDetached");
+            assertThat(members).hasSize(1).noneMatch(em::contains); // 호출한 쪽 영속성 컨텍스트에 들어가지 않는다.
+            return members;
+        });
+
+        //then 트랜잭션 없이 호출해도 같다.
+        assertThat(found).hasSize(1);
+        assertThat(memberBulkLookup.findByUsernames(List.of("bulkDetached")).get("bulkDetached")).hasSize(1);
+    }
+
+    @Test
+    public void padToPowerOfTwo(){
+        assertThat(MemberBulkLookup.bucketSize(1)).isEqualTo(1);
+        assertThat(MemberBulkLookup.bucketSize(5)).isEqualTo(8);
+        assertThat(MemberBulkLookup.bucketSize(8)).isEqualTo(8);
+        assertThat(MemberBulkLookup.pad(List.of("a", "b", "c"))).containsExactly("a", "b", "c", "c");
+    }
+}
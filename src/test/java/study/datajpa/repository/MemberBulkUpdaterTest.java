@@ -0,0 +1,74 @@
+package study.datajpa.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.datajpa.entity.Member;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+// 청크마다 커밋하므로 테스트에 트랜잭션을 걸지 않는다. 커밋된 회원이 다른 테스트에 남지 않도록 메모리 H2
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:bulkupdate;DB_CLOSE_DELAY=-1")
+class MemberBulkUpdaterTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired MemberBulkUpdater memberBulkUpdater;
+
+    @Test
+    public void updateInChunks(){
+        //given
+        List<Member> members = saveMembers("chunkUpdate", 25);
+        MemberBulkUpdate update = MemberBulkUpdate.agePlusByUsernamePrefix("chunkUpdate", 10);
+
+        //when
+        List<BulkUpdateProgress> progress = new ArrayList<>();
+        long updated = memberBulkUpdater.execute(update, progress::add);
+
+        //then
+        assertThat(updated).isEqualTo(25);
+        assertThat(progress).extracting(BulkUpdateProgress::chunkRows).containsExactly(10, 10, 5);
+        assertThat(memberRepository.findById(members.get(0).getId()).get().getAge()).isEqualTo(21); // 2차 캐시에서 제거됨
+    }
+
+    @Test
+    public void resumeAfterLastCompletedChunk(){
+        //given
+        List<Member> members = saveMembers("chunkResume", 20);
+        MemberBulkUpdate update = MemberBulkUpdate.agePlusByUsernamePrefix("chunkResume", 10);
+        long lastCompletedId = members.get(9).getId(); // 첫 청크까지 완료된 상태라고 가정
+
+        //when
+        long updated = memberBulkUpdater.execute(update, lastCompletedId, progress -> { });
+
+        //then
+        assertThat(updated).isEqualTo(10);
+        assertThat(memberRepository.findById(members.get(9).getId()).get().getAge()).isEqualTo(20);
+        assertThat(memberRepository.findById(members.get(10).getId()).get().getAge()).isEqualTo(21);
+    }
+
+    @Test
+    public void prefixIsMatchedLiterally(){
+        //given
+        List<Member> members = saveMembers("chunk_Literal", 3);
+        saveMembers("chunkXLiteral", 3); // _ 가 와일드카드로 해석되면 같이 수정된다.
+
+        //when
+        long updated = memberBulkUpdater.execute(MemberBulkUpdate.agePlusByUsernamePrefix("chunk_Literal", 10), progress -> { });
+
+        //then
+        assertThat(updated).isEqualTo(3);
+        assertThat(memberRepository.findById(members.get(0).getId()).get().getAge()).isEqualTo(21);
+    }
+
+    private List<Member> saveMembers(String prefix, int count) {
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            members.add(new Member(prefix + i, 20));
+        }
+        memberRepository.saveAll(members);
+        return members;
+    }
+}
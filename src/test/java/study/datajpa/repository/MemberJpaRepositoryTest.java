@@ -7,6 +7,7 @@ import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
 import study.datajpa.entity.Member;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
@@ -119,6 +120,25 @@ class MemberJpaRepositoryTest {
         assertThat(result).isEqualTo(3);
     }
 
+    @Test
+    @Rollback
+    public void saveAllBatched(){
+        //given
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            members.add(new Member("batch" + i, i));
+        }
+
+        long before = memberJpaRepository.count();
+
+        //when
+        int saved = memberJpaRepository.saveAllBatched(members, 100);
+
+        //then
+        assertThat(saved).isEqualTo(250);
+        assertThat(memberJpaRepository.count()).isEqualTo(before + 250);
+    }
+
 
 
 
@@ -1,5 +1,6 @@
 package study.datajpa.repository;
 
+import com.sun.management.ThreadMXBean;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import org.assertj.core.api.Assertions;
@@ -12,14 +13,18 @@ import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
+import study.datajpa.config.QueryCountGuard;
 import study.datajpa.dto.MemberDto;
 import study.datajpa.entity.Member;
 import study.datajpa.entity.Team;
 
 import javax.sound.midi.MetaMessage;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,6 +39,8 @@ class MemberRepositoryTest {
     MemberRepository memberRepository; // 스프링 데이터 JPA
     @Autowired
     TeamRepository teamRepository;
+    @Autowired
+    QueryCountGuard queryCountGuard;
     @PersistenceContext
     EntityManager em;
 
@@ -156,6 +163,56 @@ class MemberRepositoryTest {
         }
     }
 
+    @Test
+    @Rollback
+    public void findMemberDtoPage(){
+        //given
+        Team team = new Team("TeamA");
+        teamRepository.save(team);
+        memberRepository.save(new Member("dtoPage1", 10, team));
+        memberRepository.save(new Member("dtoPage2", 10));
+        em.flush();
+        em.clear();
+
+        //when
+        List<MemberDto> result = memberRepository.findMemberDtoPage(PageRequest.of(0, 2000, Sort.by("username")));
+
+        //then
+        assertThat(result).extracting(MemberDto::getUsername).contains("dtoPage1", "dtoPage2"); // LEFT JOIN 이라 팀이 없어도 조회
+        assertThat(em.unwrap(org.hibernate.Session.class).getStatistics().getEntityCount()).isEqualTo(0);
+    }
+
+    @Test
+    @Rollback
+    public void dtoProjectionAllocatesLessThanEntities(){
+        for (int i = 0; i < 1000; i++) {
+            memberRepository.save(new Member("alloc" + i, i));
+        }
+        em.flush();
+        em.clear();
+
+        ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        PageRequest pageRequest = PageRequest.of(0, 1000);
+
+        // 쿼리 변환(JPQL -> SQL) 할당은 첫 실행에만 있으므로 한번씩 먼저 실행한다.
+        memberRepository.findAll(pageRequest).map(MemberDto::new);
+        memberRepository.findMemberDtoPage(pageRequest);
+        em.clear();
+
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        memberRepository.findAll(pageRequest).map(MemberDto::new);
+        long entityBytes = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+        em.clear();
+
+        before = threadMXBean.getThreadAllocatedBytes(threadId);
+        memberRepository.findMemberDtoPage(pageRequest);
+        long dtoBytes = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+
+        // 엔티티 조회는 영속성 컨텍스트 등록 + 스냅샷(dirty checking 용 복사본)을 만든다.
+        assertThat(dtoBytes).isLessThan(entityBytes);
+    }
+
     @Test
     public void findByNames(){
         Member member1 = new Member("AAA", 10);
@@ -265,6 +322,62 @@ class MemberRepositoryTest {
 
     }*/
 
+    @Test
+    @Rollback
+    public void slicingWithoutCount(){
+        //given
+        for (int i = 0; i < 5; i++) {
+            memberRepository.save(new Member("slice" + i, 10));
+        }
+
+        //when
+        Slice<Member> slice = memberRepository.findSliceByAge(10, PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "username")));
+
+        //then
+        assertThat(slice.getContent()).hasSize(3);
+        assertThat(slice.isFirst()).isTrue();
+        assertThat(slice.hasNext()).isTrue();
+    }
+
+    @Test
+    @Rollback
+    public void pagingWithCachedCount(){
+        //given
+        for (int i = 0; i < 5; i++) {
+            memberRepository.save(new Member("cached" + i, 10));
+        }
+        PageRequest pageRequest = PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "username"));
+
+        //when
+        Page<Member> page = memberRepository.findByAgeWithCachedCount(10, pageRequest);
+        Page<Member> derived = memberRepository.findByAge(10, pageRequest);
+
+        //then
+        assertThat(page.getContent()).hasSize(3);
+        assertThat(page.getTotalElements()).isEqualTo(derived.getTotalElements());
+    }
+
+    @Test
+    @Rollback
+    public void keysetPaging(){
+        //given
+        for (int i = 0; i < 5; i++) {
+            memberRepository.save(new Member("keyset" + i, 10));
+        }
+        em.flush();
+        em.clear();
+
+        //when
+        List<Member> first = memberRepository.findKeysetPage(0L, PageRequest.of(0, 3));
+        Long lastId = first.get(first.size() - 1).getId();
+        List<Member> next = memberRepository.findKeysetPage(lastId, PageRequest.of(0, 3));
+
+        //then
+        assertThat(first).hasSize(3);
+        assertThat(next).allMatch(m -> m.getId() > lastId);
+        assertThat(next).isSortedAccordingTo((a, b) -> a.getId().compareTo(b.getId()));
+    }
+
     @Test
     public void bulkUpdate(){
         //given
@@ -310,6 +423,35 @@ class MemberRepositoryTest {
 
     }
 
+    @Test
+    @Rollback
+    public void lazyLoadingBatchFetch(){
+        //given
+        for (int i = 0; i < 10; i++) {
+            Team team = new Team("batchTeam" + i);
+            teamRepository.save(team);
+            memberRepository.save(new Member("batchFetch" + i, 10, team));
+        }
+        em.flush();
+        em.clear();
+        emfCacheEvictAll();
+
+        //when
+        int before = queryCountGuard.currentTransactionCount();
+        List<Member> members = new ArrayList<>(memberRepository.findListByUsername("batchFetch0"));
+        members.addAll(memberRepository.findByUsernameAndAgeGreaterThan("batchFetch9", 0));
+        for (Member member : members) {
+            member.getTeam().getName();
+        }
+
+        //then
+        assertThat(queryCountGuard.currentTransactionCount() - before).isEqualTo(3); // 조회 2번 + team IN 절 1번
+    }
+
+    private void emfCacheEvictAll() {
+        em.getEntityManagerFactory().getCache().evictAll(); // 2차 캐시에서 꺼내오지 않도록
+    }
+
     @Test
     public void queryHint(){
         //given
@@ -343,6 +485,74 @@ class MemberRepositoryTest {
 
     }
 
+    @Test
+    @Rollback
+    public void saveAllBatched(){
+        //given
+        Team teamA = new Team("teamA");
+        teamRepository.save(teamA);
+
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            members.add(new Member("batch" + i, i, teamA));
+        }
+
+        long before = memberRepository.count();
+
+        //when
+        int saved = memberRepository.saveAllBatched(members, 100);
+
+        //then
+        assertThat(saved).isEqualTo(250);
+        assertThat(memberRepository.count()).isEqualTo(before + 250);
+        assertThat(em.contains(members.get(0))).isFalse(); // 배치마다 clear 되어 준영속 상태
+    }
+
+    @Test
+    @Rollback
+    public void streamAll(){
+        //given
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ids.add(memberRepository.save(new Member("stream" + i, i)).getId());
+        }
+        em.flush();
+        em.clear();
+
+        //when 이 테스트에서 저장한 회원만 센다. ( 다른 데이터와 섞이지 않도록 id 로 비교 )
+        long count;
+        try (Stream<Member> stream = memberRepository.streamAll(3)) {
+            count = stream.filter(m -> ids.contains(m.getId())).count();
+        }
+
+        //then
+        assertThat(count).isEqualTo(10);
+    }
+
+    @Test
+    @Rollback
+    public void forEachChunk(){
+        //given
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ids.add(memberRepository.save(new Member("chunk" + i, i)).getId());
+        }
+        em.flush();
+        em.clear();
+
+        //when
+        List<Integer> chunkSizes = new ArrayList<>();
+        List<Long> visited = new ArrayList<>();
+        memberRepository.forEachChunk(4, chunk -> {
+            chunkSizes.add(chunk.size());
+            chunk.forEach(m -> visited.add(m.getId()));
+        });
+
+        //then 이 테스트에서 저장한 회원을 한번씩 모두 방문한다. ( 다른 데이터와 섞이지 않도록 id 로 비교 )
+        assertThat(chunkSizes).allMatch(size -> size <= 4);
+        assertThat(visited).filteredOn(ids::contains).containsExactlyInAnyOrderElementsOf(ids);
+    }
+
     @Test
     public void specBasic(){
         Team teamA = new Team("teamA");
@@ -0,0 +1,55 @@
+package study.datajpa.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+// 트랜잭션끼리 충돌시켜야 하므로 테스트에 트랜잭션을 걸지 않는다.
+@SpringBootTest
+class OptimisticLockRetryTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired OptimisticLockRetryExecutor retryExecutor;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @Test
+    public void retryOnConflict(){
+        //given
+        Long id = memberRepository.save(new Member("optimistic", 10)).getId();
+        TransactionTemplate otherTransaction = new TransactionTemplate(transactionManager);
+        otherTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        AtomicInteger attempts = new AtomicInteger();
+
+        //when
+        retryExecutor.executeWithoutResult(() -> {
+            Member member = memberRepository.findById(id).get();
+            if (attempts.incrementAndGet() == 1) {
+                // 조회 이후 다른 트랜잭션이 먼저 수정 -> 커밋시 version 불일치
+                otherTransaction.executeWithoutResult(status -> memberRepository.findById(id).get().setAge(99));
+            }
+            member.setAge(member.getAge() + 1);
+        });
+
+        //then
+        Member result = memberRepository.findById(id).get();
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(result.getAge()).isEqualTo(100);
+        assertThat(result.getVersion()).isEqualTo(2);
+    }
+
+    @Test
+    public void backoffGrowsWithinBounds(){
+        for (int attempt = 1; attempt <= 10; attempt++) {
+            long backoff = retryExecutor.backoffMillis(attempt);
+            assertThat(backoff).isBetween(0L, 200L);
+        }
+    }
+}
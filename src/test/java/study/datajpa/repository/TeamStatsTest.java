@@ -0,0 +1,94 @@
+package study.datajpa.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.dto.TeamStatsDto;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.entity.TeamStats;
+
+import static org.assertj.core.api.Assertions.*;
+
+// 커밋 직전에 반영되므로 테스트에 트랜잭션을 걸지 않는다. 커밋된 데이터가 다른 테스트에 남지 않도록 메모리 H2
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:teamstats;DB_CLOSE_DELAY=-1")
+class TeamStatsTest {
+
+    @Autowired TeamRepository teamRepository;
+    @Autowired MemberRepository memberRepository;
+    @Autowired TeamStatsRepository teamStatsRepository;
+    @Autowired TeamStatsMaintainer teamStatsMaintainer;
+    @Autowired TransactionTemplate transactionTemplate;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void maintainedIncrementally(){
+        //given
+        Team teamA = teamRepository.save(new Team("statsA"));
+        Team teamB = teamRepository.save(new Team("statsB"));
+        Member member1 = memberRepository.save(new Member("stats1", 15, teamA));
+        Member member2 = memberRepository.save(new Member("stats2", 25, teamA));
+        memberRepository.save(new Member("stats3", 35, teamB));
+
+        assertSummary(teamA, 2, 40);
+        assertSummary(teamB, 1, 35);
+
+        //when changeTeam
+        transactionTemplate.executeWithoutResult(status -> {
+            Member member = memberRepository.findById(member2.getId()).get();
+            member.changeTeam(teamRepository.findById(teamB.getId()).get());
+        });
+
+        //then
+        assertSummary(teamA, 1, 15);
+        assertSummary(teamB, 2, 60);
+        assertThat(teamStatsRepository.findByTeamIdOrderByAgeBucket(teamB.getId()))
+                .hasSize(TeamStats.AGE_BUCKETS)
+                .filteredOn(stats -> stats.getMemberCount() > 0)
+                .extracting(TeamStats::getAgeBucket)
+                .containsExactly(2, 3);
+
+        //when 삭제
+        memberRepository.deleteById(member1.getId());
+
+        //then
+        assertSummary(teamA, 0, 0);
+    }
+
+    @Test
+    public void refreshedByBulkUpdate(){
+        //given
+        Team team = teamRepository.save(new Team("statsBulk"));
+        memberRepository.save(new Member("statsBulk1", 200, team)); // bulkAgePlus 대상은 이 회원 하나
+        memberRepository.save(new Member("statsBulk2", 5, team));
+
+        //when
+        transactionTemplate.executeWithoutResult(status -> memberRepository.bulkAgePlus(200));
+
+        //then 같은 트랜잭션에서 다시 계산된다.
+        assertSummary(team, 2, 206);
+    }
+
+    @Test
+    public void rebuildRecomputesInPlace(){
+        //given
+        Team team = teamRepository.save(new Team("statsRebuild"));
+        memberRepository.save(new Member("statsRebuild1", 30, team));
+        jdbcTemplate.update("UPDATE team_stats SET member_count = 99, age_sum = 99 WHERE team_id = ?", team.getId());
+
+        //when
+        teamStatsMaintainer.rebuild();
+
+        //then 행을 지우지 않고 값만 다시 계산한다.
+        assertSummary(team, 1, 30);
+        assertThat(teamStatsRepository.findByTeamIdOrderByAgeBucket(team.getId())).hasSize(TeamStats.AGE_BUCKETS);
+    }
+
+    private void assertSummary(Team team, long memberCount, long ageSum) {
+        TeamStatsDto summary = teamStatsRepository.findTeamSummary(team.getId()).get();
+        assertThat(summary.getMemberCount()).isEqualTo(memberCount);
+        assertThat(summary.getAgeSum()).isEqualTo(ageSum);
+    }
+}
@@ -0,0 +1,55 @@
+package study.datajpa.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.datajpa.entity.Member;
+
+import static org.assertj.core.api.Assertions.*;
+
+// 트랜잭션을 걸지 않는다. ( 커밋된 뒤에 캐시가 비워진다. ) 다른 테스트 데이터와 섞이지 않도록 메모리 H2
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:countcache;DB_CLOSE_DELAY=-1",
+        "member.count-cache.enabled=true",
+        "member.count-cache.ttl-millis=3600000",
+        "member.seed.enabled=false"
+})
+class TotalCountCacheTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    @Test
+    public void memberWritesInvalidateCachedTotal(){
+        //given
+        memberRepository.save(new Member("count1", 10));
+        memberRepository.save(new Member("count2", 10));
+        assertThat(total()).isEqualTo(2);
+
+        //when 엔티티 저장
+        memberRepository.save(new Member("count3", 10));
+
+        //then
+        assertThat(total()).isEqualTo(3);
+
+        //when 하이버네이트를 거치지 않은 삭제는 TTL 동안 반영되지 않는다.
+        jdbcTemplate.update("DELETE FROM member WHERE username = ?", "count3");
+        assertThat(total()).isEqualTo(3);
+        assertThat(memberRepository.findByAgeWithCachedCount(20, PageRequest.of(0, 1)).getTotalElements())
+                .isEqualTo(3); // age 로 거르지 않으므로 나이가 달라도 같은 캐시 항목
+
+        //when 벌크 수정 ( @Modifying )
+        transactionTemplate.executeWithoutResult(status -> memberRepository.bulkAgePlus(100));
+
+        //then
+        assertThat(total()).isEqualTo(2);
+    }
+
+    private long total() {
+        return memberRepository.findByAgeWithCachedCount(10, PageRequest.of(0, 1)).getTotalElements();
+    }
+}